@@ -103,6 +103,15 @@ public interface CypherCompiler {
 
     String nextIdentifier();
 
+    /**
+     * Returns the identifier of the node that already exists in the database with the given ID, as used
+     * by the {@link NodeBuilder} for that node and by relationships to and from it.
+     *
+     * @param existingNodeId The ID of the node in the database
+     * @return The identifier of the node, which does not depend on its ID
+     */
+    String identifier(Long existingNodeId);
+
     /**
      * Returns this compiler's context
      * @return the current compiler context
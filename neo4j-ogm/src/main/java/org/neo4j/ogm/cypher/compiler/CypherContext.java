@@ -20,6 +20,7 @@ package org.neo4j.ogm.cypher.compiler;
 
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegister;
 
 import java.util.*;
 
@@ -31,11 +32,17 @@ public class CypherContext {
     private final Map<Object, NodeBuilder> visitedObjects = new HashMap<>();
 
     private final Map<String, Object> createdObjects = new HashMap<>();
-    private final Collection<MappedRelationship> registeredRelationships = new HashSet<>();
+    private final RelationshipRegister registeredRelationships = new RelationshipRegister();
+    private final Map<Long, Set<String>> deregisteredOutgoing = new HashMap<>();
+    private final Map<Long, Set<String>> deregisteredIncoming = new HashMap<>();
 
     private final Collection<Object> log = new HashSet<>();
 
+    private final Map<String, Long> identities = new HashMap<>();
+
     private List<ParameterisedStatement> statements;
+    private final List<ParameterisedStatement> deferredStatements = new ArrayList<>();
+    private final List<DeferredIdentity> deferredIdentities = new ArrayList<>();
 
     public boolean visited(Object obj) {
         return this.visitedObjects.containsKey(obj);
@@ -65,6 +72,59 @@ public class CypherContext {
         return this.statements;
     }
 
+    /**
+     * Defers a statement that refers to new nodes by their ids, which are only known once the statements
+     * creating them have been executed.
+     *
+     * @param statement the statement to execute once the current statements have been executed
+     */
+    public void defer(ParameterisedStatement statement) {
+        deferredStatements.add(statement);
+    }
+
+    /**
+     * Sets a parameter of a deferred statement to the id of a new node, once it is known.
+     *
+     * @param parameters the parameters, or a parameter row, of the deferred statement
+     * @param name the name of the parameter
+     * @param reference the variable of the new node
+     */
+    public void deferIdentity(Map<String, Object> parameters, String name, String reference) {
+        deferredIdentities.add(new DeferredIdentity(parameters, name, reference));
+    }
+
+    public boolean hasDeferredStatements() {
+        return !deferredStatements.isEmpty();
+    }
+
+    /**
+     * Returns the deferred statements, with the ids of the new nodes they refer to as parameters.
+     * These must have been registered from the results of the current statements.
+     *
+     * @return the deferred statements, or an empty list if there are none
+     */
+    public List<ParameterisedStatement> getDeferredStatements() {
+        for (DeferredIdentity deferred : deferredIdentities) {
+            Long identity = identities.get(deferred.reference);
+            if (identity == null) {
+                throw new RuntimeException("Couldn't get identity for " + deferred.reference);
+            }
+            deferred.parameters.put(deferred.name, identity);
+        }
+        return deferredStatements;
+    }
+
+    public void registerIdentity(String cypherName, Long identity) {
+        identities.put(cypherName, identity);
+    }
+
+    /**
+     * @return the ids returned by the database so far, keyed by the variables of the statements that returned them
+     */
+    public Map<String, Long> identities() {
+        return identities;
+    }
+
     public void registerNewObject(String cypherName, Object toPersist) {
         createdObjects.put(cypherName, toPersist);
     }
@@ -86,22 +146,62 @@ public class CypherContext {
     }
 
     public void deregisterOutgoingRelationships(Long src, String relationshipType) {
-        Iterator<MappedRelationship> iterator = registeredRelationships.iterator();
-        while (iterator.hasNext()) {
-           MappedRelationship mappedRelationship = iterator.next();
-           if (mappedRelationship.getStartNodeId() == src && mappedRelationship.getRelationshipType().equals(relationshipType)) {
-               iterator.remove();
-           }
+        scope(deregisteredOutgoing, src).add(relationshipType);
+        for (MappedRelationship mappedRelationship : registeredRelationships.outgoing(src, relationshipType)) {
+            registeredRelationships.remove(mappedRelationship);
         }
     }
 
     public void deregisterIncomingRelationships(Long tgt, String relationshipType) {
-        Iterator<MappedRelationship> iterator = registeredRelationships.iterator();
-        while (iterator.hasNext()) {
-            MappedRelationship mappedRelationship = iterator.next();
-            if (mappedRelationship.getEndNodeId() == tgt && mappedRelationship.getRelationshipType().equals(relationshipType)) {
-                iterator.remove();
+        scope(deregisteredIncoming, tgt).add(relationshipType);
+        for (MappedRelationship mappedRelationship : registeredRelationships.incoming(tgt, relationshipType)) {
+            registeredRelationships.remove(mappedRelationship);
+        }
+    }
+
+    /**
+     * Finds the known relationships that have been deregistered from this context, and not registered again.
+     * Only the relationships of the nodes and types that were deregistered are considered, so the cost depends on
+     * the objects reached while compiling, rather than on the number of known relationships.
+     *
+     * @param knownRelationships the relationships known to exist in the graph
+     * @return the known relationships that no longer exist in the domain
+     */
+    public Collection<MappedRelationship> deregisteredRelationships(RelationshipRegister knownRelationships) {
+        Set<MappedRelationship> deregistered = new LinkedHashSet<>();
+        for (Map.Entry<Long, Set<String>> scope : deregisteredOutgoing.entrySet()) {
+            for (String relationshipType : scope.getValue()) {
+                deregistered.addAll(knownRelationships.outgoing(scope.getKey(), relationshipType));
             }
         }
+        for (Map.Entry<Long, Set<String>> scope : deregisteredIncoming.entrySet()) {
+            for (String relationshipType : scope.getValue()) {
+                deregistered.addAll(knownRelationships.incoming(scope.getKey(), relationshipType));
+            }
+        }
+        deregistered.removeAll(registeredRelationships);
+        return deregistered;
+    }
+
+    private static Set<String> scope(Map<Long, Set<String>> scopes, Long identity) {
+        Set<String> relationshipTypes = scopes.get(identity);
+        if (relationshipTypes == null) {
+            relationshipTypes = new HashSet<>();
+            scopes.put(identity, relationshipTypes);
+        }
+        return relationshipTypes;
+    }
+
+    private static class DeferredIdentity {
+
+        private final Map<String, Object> parameters;
+        private final String name;
+        private final String reference;
+
+        DeferredIdentity(Map<String, Object> parameters, String name, String reference) {
+            this.parameters = parameters;
+            this.name = name;
+            this.reference = reference;
+        }
     }
-}
\ No newline at end of file
+}
@@ -27,12 +27,16 @@ public class DeletedRelationshipBuilder implements CypherEmitter, Comparable<Del
     private final String src;
     private final String tgt;
     private final String rid;
+    private final Long srcId;
+    private final Long tgtId;
 
-    public DeletedRelationshipBuilder(String type, String src, String tgt, String rid) {
+    public DeletedRelationshipBuilder(String type, String src, String tgt, String rid, Long srcId, Long tgtId) {
         this.type = type;
         this.src = src;
         this.tgt = tgt;
         this.rid = rid;
+        this.srcId = srcId;
+        this.tgtId = tgtId;
     }
 
     public boolean emit(StringBuilder queryBuilder, Map<String, Object> parameters, Set<String> varStack) {
@@ -56,8 +60,10 @@ public class DeletedRelationshipBuilder implements CypherEmitter, Comparable<Del
         if (!varStack.contains(src)) {
             queryBuilder.append(" WHERE id(");
             queryBuilder.append(src);
-            queryBuilder.append(")=");
-            queryBuilder.append(src.substring(1)); // existing nodes have an id. we pass it in as $id
+            queryBuilder.append(")={");
+            queryBuilder.append(src);
+            queryBuilder.append('}');
+            parameters.put(src, srcId); // existing nodes have an id. we pass it in as a parameter
             varStack.add(src);
             where = true;
         }
@@ -69,8 +75,10 @@ public class DeletedRelationshipBuilder implements CypherEmitter, Comparable<Del
                 queryBuilder.append(" WHERE id(");
             }
             queryBuilder.append(tgt);
-            queryBuilder.append(")=");
-            queryBuilder.append(tgt.substring(1)); // existing nodes have an id. we pass it in as $id
+            queryBuilder.append(")={");
+            queryBuilder.append(tgt);
+            queryBuilder.append('}');
+            parameters.put(tgt, tgtId); // existing nodes have an id. we pass it in as a parameter
             varStack.add(tgt);
         }
 
@@ -24,21 +24,38 @@ import org.neo4j.ogm.metadata.info.ClassInfo;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Renders Cypher appropriate for a node that already exists in the database and needs updating.
  */
 class ExistingNodeBuilder extends NodeBuilder {
 
-    ExistingNodeBuilder(String variableName) {
+    private final Long id;
+    private final Set<String> removedProps = new TreeSet<>();
+
+    ExistingNodeBuilder(String variableName, Long id) {
         super(variableName);
+        this.id = id;
     }
 
     @Override
     public NodeBuilder mapProperties(Object entity, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy) {
+        return mapProperties(entity, classInfo, objectAccessStrategy, null);
+    }
+
+    @Override
+    public NodeBuilder mapProperties(Object entity, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy, Set<String> changedProperties) {
         for (PropertyReader propertyReader : objectAccessStrategy.getPropertyReaders(classInfo)) {
-            Object value = propertyReader.read(entity);
-            addProperty(propertyReader.propertyName(), value);
+            String propertyName = propertyReader.propertyName();
+            if (changedProperties == null || changedProperties.contains(propertyName)) {
+                Object value = propertyReader.read(entity);
+                if (value != null) {
+                    addProperty(propertyName, value);
+                } else {
+                    removedProps.add(propertyName);
+                }
+            }
         }
         return this;
     }
@@ -48,7 +65,7 @@ class ExistingNodeBuilder extends NodeBuilder {
     public boolean emit(StringBuilder queryBuilder, Map<String, Object> parameters, Set<String> varStack) {
 
         // what about labels?
-        if (this.props.isEmpty()) {
+        if (this.props.isEmpty() && this.removedProps.isEmpty()) {
             return false;
         }
 
@@ -59,9 +76,10 @@ class ExistingNodeBuilder extends NodeBuilder {
         varStack.add(this.reference());
 
         queryBuilder.append(" MATCH (").append(this.reference()).append(")");
-        queryBuilder.append(" WHERE id(").append(this.reference()).append(")=").append(this.reference().substring(1));
+        queryBuilder.append(" WHERE id(").append(this.reference()).append(")={").append(this.reference()).append('}');
+        parameters.put(this.reference(), this.id);
 
-        if (!this.labels.isEmpty() && !this.props.isEmpty()) {
+        if (!this.labels.isEmpty() || !this.props.isEmpty()) {
             queryBuilder.append(" SET ");
         }
         // set the labels (at the moment we set all labels, not just new ones)
@@ -70,14 +88,27 @@ class ExistingNodeBuilder extends NodeBuilder {
             for (String label : this.labels) {
                 queryBuilder.append(":`").append(label).append('`');
             }
-            queryBuilder.append(", ");
+            if (!this.props.isEmpty()) {
+                queryBuilder.append(", ");
+            }
         }
 
+        // only the properties that have changed are set
         if (!this.props.isEmpty()) {
             queryBuilder.append(this.reference()).append("+={").append(this.reference()).append("_props} ");
             parameters.put(this.reference() + "_props", this.props);
         }
 
+        // and those that have become null are removed
+        if (!this.removedProps.isEmpty()) {
+            queryBuilder.append(this.props.isEmpty() ? " REMOVE " : "REMOVE ");
+            for (String propertyName : this.removedProps) {
+                queryBuilder.append(this.reference()).append(".`").append(propertyName).append("`, ");
+            }
+            queryBuilder.setLength(queryBuilder.length() - 2);
+            queryBuilder.append(' ');
+        }
+
         return true;
 
     }
@@ -37,6 +37,10 @@ class ExistingRelationshipBuilder extends RelationshipBuilder {
         this.reference = reference;
     }
 
+    Long id() {
+        return id;
+    }
+
     @Override
     public boolean emit(StringBuilder queryBuilder, Map<String, Object> parameters, Set<String> varStack) {
         // admittedly, this isn't brilliant, as we'd ideally avoid creating the relationship in the first place
@@ -50,7 +54,8 @@ class ExistingRelationshipBuilder extends RelationshipBuilder {
         }
 
         queryBuilder.append(" MATCH ()-[").append(this.reference).append("]->() WHERE id(")
-                .append(this.reference).append(")=").append(this.id);
+                .append(this.reference).append(")={").append(this.reference).append('}');
+        parameters.put(this.reference, this.id);
 
         if (!this.props.isEmpty()) {
             queryBuilder.append(" SET ").append(this.reference).append("+={").append(this.reference).append("_props} ");
@@ -18,6 +18,9 @@
 
 package org.neo4j.ogm.cypher.compiler;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Manages identifiers used within the scope of a single Cypher query.
  *
@@ -28,13 +31,18 @@ package org.neo4j.ogm.cypher.compiler;
  *
  * _0, _1, _2 ...
  *
- * 2. References to existing nodes are identified using the node id prepended by a $, e.g
+ * 2. References to existing nodes are identified by a separate monotonically increasing integer
+ * prepended by a $, e.g.
  *
- * $513400, $9075, $2 ...
+ * $0, $1, $2 ...
  *
  * The use of two separate schemes ensures that the identifiers for new nodes and existing nodes cannot
  * overlap.
  *
+ * The ids of existing nodes are not part of their identifiers: they are passed to the query as parameters
+ * named after the identifiers, so that queries for objects of the same shape have the same text, whichever
+ * nodes they refer to, and the database can reuse their plans.
+ *
  */
 class IdentifierManager {
 
@@ -42,6 +50,10 @@ class IdentifierManager {
     private static final String EXISTING_FORMAT = "$%d";
 
     private int idCounter;
+    private int existingCounter;
+
+    private final Map<Long, String> existingIdentifiers = new HashMap<>();
+    private final Map<String, Long> existingIds = new HashMap<>();
 
     /**
      * Generates the next variable name to use in the context of a Cypher query for creating new objects.
@@ -54,11 +66,27 @@ class IdentifierManager {
 
     /**
      * Generates a variable name to use in the context of a Cypher query referring to existing objects.
+     * The same name is returned each time for the same id.
+     *
+     * @return The variable name to use of the form $n, never <code>null</code>
+     */
+    public synchronized String identifier(Long value) {
+        String identifier = existingIdentifiers.get(value);
+        if (identifier == null) {
+            identifier = String.format(EXISTING_FORMAT, this.existingCounter++);
+            existingIdentifiers.put(value, identifier);
+            existingIds.put(identifier, value);
+        }
+        return identifier;
+    }
+
+    /**
+     * Returns the id of the existing object that the given variable name refers to.
      *
-     * @return The variable name to use of the form $id, never <code>null</code>
+     * @return The id of the existing object, or <code>null</code> if the variable does not refer to one
      */
-    public String identifier(Long value) {
-        return String.format(EXISTING_FORMAT, value);
+    public synchronized Long id(String identifier) {
+        return existingIds.get(identifier);
     }
 
     public synchronized void releaseIdentifier() {
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.cypher.compiler;
+
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+
+import java.util.*;
+
+/**
+ * Implementation of {@link CypherCompiler} for saving large numbers of new objects.
+ *
+ * New nodes are grouped by their labels, and each group is created by a single statement that unwinds
+ * the properties of its nodes, rather than by a pattern per node: e.g.
+ *
+ * UNWIND {rows} AS row CREATE (n:`Person`) SET n=row.props RETURN row.ref AS ref, id(n) AS id
+ *
+ * Likewise, new relationships are grouped by their type and the properties they are merged on, and
+ * updated relationships by their type, and each group is written by a single statement that unwinds
+ * the ids of their nodes or their own ids. The text of these statements does not depend on the number
+ * of nodes or relationships, so the database can reuse their plans. The ids of new nodes and relationships
+ * are returned with the variables of the rows that created them.
+ *
+ * Node updates and deleted relationships are compiled into one further statement, as by the
+ * {@link SingleStatementCypherCompiler}.
+ *
+ * Statements that relate new nodes can only be executed once the new nodes have been created and their
+ * ids are known: these are deferred in the compiled {@link CypherContext}.
+ */
+public class MultiStatementCypherCompiler extends SingleStatementCypherCompiler {
+
+    /**
+     * The column in which the variables of new nodes and relationships written in bulk are returned.
+     */
+    public static final String REFERENCE = "ref";
+
+    /**
+     * The column in which the ids of new nodes and relationships written in bulk are returned.
+     */
+    public static final String IDENTITY = "id";
+
+    private boolean compiled;
+
+    @Override
+    public List<ParameterisedStatement> getStatements() {
+        // any deferred statements are only available from the compiled context
+        return compile().getStatements();
+    }
+
+    /**
+     * Compiles the statements once: compiling defers statements in the context, so later calls return the same
+     * context rather than deferring them again.
+     */
+    @Override
+    public CypherContext compile() {
+        CypherContext context = context();
+        if (compiled) {
+            return context;
+        }
+        compiled = true;
+
+        List<ParameterisedStatement> statements = new ArrayList<>();
+        Set<String> created = new HashSet<>();
+
+        for (List<NodeBuilder> group : newNodesByLabels().values()) {
+            statements.add(createNodesStatement(group));
+            for (NodeBuilder node : group) {
+                created.add(node.reference());
+            }
+        }
+
+        ParameterisedStatement changes = changeStatement();
+        if (!changes.getStatement().isEmpty()) {
+            statements.add(changes);
+        }
+
+        for (List<RelationshipBuilder> group : updatedRelationshipsByType().values()) {
+            statements.add(updateRelationshipsStatement(group));
+        }
+
+        for (List<RelationshipBuilder> group : newRelationshipsByTypeAndProperties().values()) {
+            ParameterisedStatement statement = createRelationshipsStatement(group, created);
+            if (linksNewNodes(group, created)) {
+                context.defer(statement);
+            } else {
+                statements.add(statement);
+            }
+        }
+
+        context.setStatements(statements);
+        return context;
+    }
+
+    private Map<List<String>, List<NodeBuilder>> newNodesByLabels() {
+        Map<List<String>, List<NodeBuilder>> groups = new LinkedHashMap<>();
+        for (CypherEmitter emitter : newNodes) {
+            NodeBuilder node = (NodeBuilder) emitter;
+            List<NodeBuilder> group = groups.get(node.labels);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(node.labels, group);
+            }
+            group.add(node);
+        }
+        return groups;
+    }
+
+    // relationships that do not link any nodes are not written, as in the single statement
+    private Map<List<String>, List<RelationshipBuilder>> newRelationshipsByTypeAndProperties() {
+        Map<List<String>, List<RelationshipBuilder>> groups = new LinkedHashMap<>();
+        for (CypherEmitter emitter : newRelationships) {
+            RelationshipBuilder relationship = (RelationshipBuilder) emitter;
+            if (relationship.startNodeIdentifier == null || relationship.endNodeIdentifier == null) {
+                continue;
+            }
+            List<String> key = new ArrayList<>();
+            key.add(relationship.type);
+            key.addAll(mergedProperties(relationship));
+            List<RelationshipBuilder> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key, group);
+            }
+            group.add(relationship);
+        }
+        return groups;
+    }
+
+    // relationships without properties have nothing to update
+    private Map<String, List<RelationshipBuilder>> updatedRelationshipsByType() {
+        Map<String, List<RelationshipBuilder>> groups = new LinkedHashMap<>();
+        for (CypherEmitter emitter : updatedRelationships) {
+            RelationshipBuilder relationship = (RelationshipBuilder) emitter;
+            if (relationship.startNodeIdentifier == null || relationship.endNodeIdentifier == null || relationship.props.isEmpty()) {
+                continue;
+            }
+            List<RelationshipBuilder> group = groups.get(relationship.type);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(relationship.type, group);
+            }
+            group.add(relationship);
+        }
+        return groups;
+    }
+
+    // new relationships are merged on their properties that have values
+    private static Set<String> mergedProperties(RelationshipBuilder relationship) {
+        Set<String> properties = new TreeSet<>();
+        for (Map.Entry<String, Object> property : relationship.props.entrySet()) {
+            if (property.getValue() != null) {
+                properties.add(property.getKey());
+            }
+        }
+        return properties;
+    }
+
+    private ParameterisedStatement createNodesStatement(List<NodeBuilder> group) {
+        StringBuilder queryBuilder = new StringBuilder("UNWIND {rows} AS row CREATE (n");
+        for (String label : group.get(0).labels) {
+            queryBuilder.append(":`").append(label).append('`');
+        }
+        queryBuilder.append(") SET n=row.props RETURN row.ref AS ").append(REFERENCE).append(", id(n) AS ").append(IDENTITY);
+
+        List<Map<String, Object>> rows = new ArrayList<>(group.size());
+        for (NodeBuilder node : group) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("ref", node.reference());
+            row.put("props", node.props);
+            rows.add(row);
+        }
+        return new ParameterisedStatement(queryBuilder.toString(), Collections.singletonMap("rows", rows));
+    }
+
+    private static boolean linksNewNodes(List<RelationshipBuilder> group, Set<String> created) {
+        for (RelationshipBuilder relationship : group) {
+            if (created.contains(relationship.startNodeIdentifier) || created.contains(relationship.endNodeIdentifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ParameterisedStatement createRelationshipsStatement(List<RelationshipBuilder> group, Set<String> created) {
+        RelationshipBuilder first = group.get(0);
+
+        StringBuilder queryBuilder = new StringBuilder("UNWIND {rows} AS row");
+        queryBuilder.append(" MATCH (startNode) WHERE id(startNode)=row.startNodeId");
+        queryBuilder.append(" MATCH (endNode) WHERE id(endNode)=row.endNodeId");
+        queryBuilder.append(" MERGE (startNode)-[rel:`").append(first.type).append('`');
+        Set<String> properties = mergedProperties(first);
+        if (!properties.isEmpty()) {
+            queryBuilder.append('{');
+            for (Iterator<String> it = properties.iterator(); it.hasNext(); ) {
+                String property = it.next();
+                // property names may be reserved words, or hold characters that aren't allowed in identifiers
+                queryBuilder.append('`').append(property).append("`:row.props.`").append(property).append('`');
+                if (it.hasNext()) {
+                    queryBuilder.append(',');
+                }
+            }
+            queryBuilder.append('}');
+        }
+        queryBuilder.append("]->(endNode) RETURN row.ref AS ").append(REFERENCE).append(", id(rel) AS ").append(IDENTITY);
+
+        List<Map<String, Object>> rows = new ArrayList<>(group.size());
+        for (RelationshipBuilder relationship : group) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("ref", relationship.reference);
+            nodeId(row, "startNodeId", relationship.startNodeIdentifier, created);
+            nodeId(row, "endNodeId", relationship.endNodeIdentifier, created);
+            row.put("props", relationship.props);
+            rows.add(row);
+        }
+        return new ParameterisedStatement(queryBuilder.toString(), Collections.singletonMap("rows", rows));
+    }
+
+    private ParameterisedStatement updateRelationshipsStatement(List<RelationshipBuilder> group) {
+        String query = "UNWIND {rows} AS row MATCH ()-[rel:`" + group.get(0).type + "`]->() WHERE id(rel)=row.relId SET rel+=row.props";
+
+        List<Map<String, Object>> rows = new ArrayList<>(group.size());
+        for (RelationshipBuilder relationship : group) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("relId", ((ExistingRelationshipBuilder) relationship).id());
+            row.put("props", relationship.props);
+            rows.add(row);
+        }
+        return new ParameterisedStatement(query, Collections.singletonMap("rows", rows));
+    }
+
+    // existing nodes are identified by their ids; those of new nodes are set once they are known
+    private void nodeId(Map<String, Object> row, String name, String reference, Set<String> created) {
+        if (created.contains(reference)) {
+            context().deferIdentity(row, name, reference);
+        } else {
+            row.put(name, identifiers.id(reference));
+        }
+    }
+
+    private ParameterisedStatement changeStatement() {
+        StringBuilder queryBuilder = new StringBuilder();
+        Set<String> varStack = new TreeSet<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        for (CypherEmitter emitter : updatedNodes) {
+            emitter.emit(queryBuilder, parameters, varStack);
+        }
+
+        for (CypherEmitter emitter : deletedRelationships) {
+            emitter.emit(queryBuilder, parameters, varStack);
+        }
+
+        return new ParameterisedStatement(queryBuilder.toString(), parameters);
+    }
+}
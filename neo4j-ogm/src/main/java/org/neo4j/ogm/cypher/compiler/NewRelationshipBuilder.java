@@ -24,8 +24,11 @@ import java.util.Set;
 
 class NewRelationshipBuilder extends RelationshipBuilder {
 
-    public NewRelationshipBuilder(String reference) {
+    private final IdentifierManager identifiers;
+
+    public NewRelationshipBuilder(String reference, IdentifierManager identifiers) {
         super(reference);
+        this.identifiers = identifiers;
     }
 
     @Override
@@ -51,8 +54,10 @@ class NewRelationshipBuilder extends RelationshipBuilder {
             queryBuilder.append(startNodeIdentifier);
             queryBuilder.append(") WHERE id(");
             queryBuilder.append(startNodeIdentifier);
-            queryBuilder.append(")=");
-            queryBuilder.append(startNodeIdentifier.substring(1)); // existing nodes have an id. we pass it in as $id
+            queryBuilder.append(")={");
+            queryBuilder.append(startNodeIdentifier);
+            queryBuilder.append('}');
+            parameters.put(startNodeIdentifier, identifiers.id(startNodeIdentifier)); // existing nodes have an id. we pass it in as a parameter
             varStack.add(startNodeIdentifier);
         }
 
@@ -61,8 +66,10 @@ class NewRelationshipBuilder extends RelationshipBuilder {
             queryBuilder.append(endNodeIdentifier);
             queryBuilder.append(") WHERE id(");
             queryBuilder.append(endNodeIdentifier);
-            queryBuilder.append(")=");
-            queryBuilder.append(endNodeIdentifier.substring(1)); // existing nodes have an id. we pass it in as $id
+            queryBuilder.append(")={");
+            queryBuilder.append(endNodeIdentifier);
+            queryBuilder.append('}');
+            parameters.put(endNodeIdentifier, identifiers.id(endNodeIdentifier)); // existing nodes have an id. we pass it in as a parameter
             varStack.add(endNodeIdentifier);
         }
 
@@ -60,6 +60,20 @@ public abstract class NodeBuilder implements CypherEmitter, Comparable<NodeBuild
 
     public abstract NodeBuilder mapProperties(Object toPersist, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy);
 
+    /**
+     * Maps the properties of the given object that have changed since it was last loaded or saved.
+     * By default, all the properties are mapped.
+     *
+     * @param toPersist the object whose properties are to be mapped
+     * @param classInfo metadata about the object
+     * @param objectAccessStrategy the {@link EntityAccessStrategy} used to read the properties
+     * @param changedProperties the names of the properties that have changed, or null if they aren't known
+     * @return this {@link NodeBuilder}
+     */
+    public NodeBuilder mapProperties(Object toPersist, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy, Set<String> changedProperties) {
+        return mapProperties(toPersist, classInfo, objectAccessStrategy);
+    }
+
     @Override
     public String toString() {
         return "(" + cypherReference + ":" + this.labels + " " + this.props + ")";
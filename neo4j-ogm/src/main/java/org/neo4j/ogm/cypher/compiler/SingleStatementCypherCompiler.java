@@ -28,13 +28,13 @@ import java.util.Map.Entry;
  */
 public class SingleStatementCypherCompiler implements CypherCompiler {
 
-    private final IdentifierManager identifiers = new IdentifierManager();
+    final IdentifierManager identifiers = new IdentifierManager();
 
-    private final Set<CypherEmitter> newNodes = new TreeSet<>();
-    private final Set<CypherEmitter> updatedNodes = new TreeSet<>();
-    private final Set<CypherEmitter> newRelationships = new TreeSet<>();
-    private final Set<CypherEmitter> updatedRelationships = new TreeSet<>();
-    private final Set<CypherEmitter> deletedRelationships = new TreeSet<>();
+    final Set<CypherEmitter> newNodes = new TreeSet<>();
+    final Set<CypherEmitter> updatedNodes = new TreeSet<>();
+    final Set<CypherEmitter> newRelationships = new TreeSet<>();
+    final Set<CypherEmitter> updatedRelationships = new TreeSet<>();
+    final Set<CypherEmitter> deletedRelationships = new TreeSet<>();
 
     private final CypherEmitter returnClause = new ReturnClauseBuilder();
     private final CypherContext context = new CypherContext();
@@ -53,7 +53,8 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
 
     @Override
     public void unrelate(String startNode, String relationshipType, String endNode) {
-        deletedRelationships.add(new DeletedRelationshipBuilder(relationshipType,startNode, endNode, this.identifiers.nextIdentifier()));
+        deletedRelationships.add(new DeletedRelationshipBuilder(relationshipType,startNode, endNode, this.identifiers.nextIdentifier(),
+                this.identifiers.id(startNode), this.identifiers.id(endNode)));
     }
 
     @Override
@@ -65,14 +66,16 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
 
     @Override
     public NodeBuilder existingNode(Long existingNodeId) {
-        NodeBuilder node = new ExistingNodeBuilder(this.identifiers.identifier(existingNodeId));
+        String identifier = this.identifiers.identifier(existingNodeId);
+        NodeBuilder node = new ExistingNodeBuilder(identifier, existingNodeId);
         this.updatedNodes.add(node);
+        this.context.registerIdentity(identifier, existingNodeId);
         return node;
     }
 
     @Override
     public RelationshipBuilder newRelationship() {
-        RelationshipBuilder builder = new NewRelationshipBuilder(identifiers.nextIdentifier());
+        RelationshipBuilder builder = new NewRelationshipBuilder(identifiers.nextIdentifier(), identifiers);
         this.newRelationships.add(builder);
         return builder;
     }
@@ -153,5 +156,10 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
         return identifiers.nextIdentifier();
     }
 
+    @Override
+    public String identifier(Long existingNodeId) {
+        return identifiers.identifier(existingNodeId);
+    }
+
 
 }
@@ -59,12 +59,12 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         return determinePropertyAccessor(classInfo, propertyName, setterInfo, new AccessorFactory<EntityAccess>() {
             @Override
             public EntityAccess makeMethodAccessor(MethodInfo methodInfo) {
-                return new MethodWriter(classInfo, methodInfo);
+                return methodWriter(classInfo, methodInfo);
             }
 
             @Override
             public EntityAccess makeFieldAccessor(FieldInfo fieldInfo) {
-                return new FieldWriter(classInfo, fieldInfo);
+                return fieldWriter(classInfo, fieldInfo);
             }
         });
     }
@@ -75,11 +75,11 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         return determinePropertyAccessor(classInfo, propertyName, getterInfo, new AccessorFactory<PropertyReader>() {
             @Override
             public PropertyReader makeMethodAccessor(MethodInfo methodInfo) {
-                return new MethodReader(classInfo, methodInfo);
+                return methodReader(classInfo, methodInfo);
             }
             @Override
             public PropertyReader makeFieldAccessor(FieldInfo fieldInfo) {
-                return new FieldReader(classInfo, fieldInfo);
+                return fieldReader(classInfo, fieldInfo);
             }
         });
     }
@@ -114,14 +114,14 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         if (methodInfo != null && !methodInfo.getAnnotations().isEmpty()) {
             Class<?> setterParameterType = ClassUtils.getType(methodInfo.getDescriptor());
             if (setterParameterType.isAssignableFrom(parameter.getClass())) {
-                return new MethodWriter(classInfo, methodInfo);
+                return methodWriter(classInfo, methodInfo);
             }
         }
 
         // 2nd, try to find a field called or annotated as the neo4j relationship type
         FieldInfo fieldInfo = classInfo.relationshipField(relationshipType);
         if (fieldInfo != null && !fieldInfo.getAnnotations().isEmpty() && fieldInfo.isTypeOf(parameter.getClass())) {
-            return new FieldWriter(classInfo, fieldInfo);
+            return fieldWriter(classInfo, fieldInfo);
         }
 
         // 3rd, try to find a "setXYZ" method where XYZ is derived from the relationship type
@@ -129,26 +129,26 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         if (methodInfo != null) {
             Class<?> setterParameterType = ClassUtils.getType(methodInfo.getDescriptor());
             if (setterParameterType.isAssignableFrom(parameter.getClass())) {
-                return new MethodWriter(classInfo, methodInfo);
+                return methodWriter(classInfo, methodInfo);
             }
         }
 
         // 4th, try to find a "XYZ" field name where XYZ is derived from the relationship type
         fieldInfo = classInfo.relationshipField(relationshipType);
         if (fieldInfo != null && fieldInfo.isTypeOf(parameter.getClass())) {
-            return new FieldWriter(classInfo, fieldInfo);
+            return fieldWriter(classInfo, fieldInfo);
         }
 
         // 5th, try to find a single setter that takes the parameter
         List<MethodInfo> methodInfos = classInfo.findSetters(parameter.getClass());
         if (methodInfos.size() == 1) {
-            return new MethodWriter(classInfo, methodInfos.iterator().next());
+            return methodWriter(classInfo, methodInfos.iterator().next());
         }
 
         // 6th, try to find a field that shares the same type as the parameter
         List<FieldInfo> fieldInfos = classInfo.findFields(parameter.getClass());
         if (fieldInfos.size() == 1) {
-            return new FieldWriter(classInfo, fieldInfos.iterator().next());
+            return fieldWriter(classInfo, fieldInfos.iterator().next());
         }
 
         return null;
@@ -159,23 +159,23 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         // 1st, try to find a method annotated with the relationship type.
         MethodInfo methodInfo = classInfo.relationshipGetter(relationshipType);
         if (methodInfo != null && !methodInfo.getAnnotations().isEmpty()) {
-            return new MethodReader(classInfo, methodInfo);
+            return methodReader(classInfo, methodInfo);
         }
 
         // 2nd, try to find a field called or annotated as the neo4j relationship type
         FieldInfo fieldInfo = classInfo.relationshipField(relationshipType);
         if (fieldInfo != null && !fieldInfo.getAnnotations().isEmpty()) {
-            return new FieldReader(classInfo, fieldInfo);
+            return fieldReader(classInfo, fieldInfo);
         }
 
         // 3rd, try to find a "getXYZ" method where XYZ is derived from the given relationship type
         if (methodInfo != null) {
-            return new MethodReader(classInfo, methodInfo);
+            return methodReader(classInfo, methodInfo);
         }
 
         // 4th, try to find a "XYZ" field name where XYZ is derived from the relationship type
         if (fieldInfo != null) {
-            return new FieldReader(classInfo, fieldInfo);
+            return fieldReader(classInfo, fieldInfo);
         }
 
         //
@@ -191,11 +191,11 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             MethodInfo getterInfo = classInfo.propertyGetter(fieldInfo.property());
             if (getterInfo != null) {
                 if (!getterInfo.getAnnotations().isEmpty() || fieldInfo.getAnnotations().isEmpty()) {
-                    readers.add(new MethodReader(classInfo, getterInfo));
+                    readers.add(methodReader(classInfo, getterInfo));
                     continue;
                 }
             }
-            readers.add(new FieldReader(classInfo, fieldInfo));
+            readers.add(fieldReader(classInfo, fieldInfo));
         }
         return readers;
     }
@@ -208,11 +208,11 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
             if (getterInfo != null) {
                 if (!getterInfo.getAnnotations().isEmpty() || fieldInfo.getAnnotations().isEmpty()) {
-                    readers.add(new MethodReader(classInfo, getterInfo));
+                    readers.add(methodReader(classInfo, getterInfo));
                     continue;
                 }
             }
-            readers.add(new FieldReader(classInfo, fieldInfo));
+            readers.add(fieldReader(classInfo, fieldInfo));
         }
         return readers;
     }
@@ -227,11 +227,11 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
     public EntityAccess getIterableWriter(ClassInfo classInfo, Class<?> parameterType) {
         MethodInfo methodInfo = getIterableSetterMethodInfo(classInfo, parameterType);
         if (methodInfo != null) {
-            return new MethodWriter(classInfo, methodInfo);
+            return methodWriter(classInfo, methodInfo);
         }
         FieldInfo fieldInfo = getIterableFieldInfo(classInfo, parameterType);
         if (fieldInfo != null) {
-            return new FieldWriter(classInfo, fieldInfo);
+            return fieldWriter(classInfo, fieldInfo);
         }
         return null;
     }
@@ -240,18 +240,18 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
     public RelationalReader getIterableReader(ClassInfo classInfo, Class<?> parameterType) {
         MethodInfo methodInfo = getIterableGetterMethodInfo(classInfo, parameterType);
         if (methodInfo != null) {
-            return new MethodReader(classInfo, methodInfo);
+            return methodReader(classInfo, methodInfo);
         }
         FieldInfo fieldInfo = getIterableFieldInfo(classInfo, parameterType);
         if (fieldInfo != null) {
-            return new FieldReader(classInfo, fieldInfo);
+            return fieldReader(classInfo, fieldInfo);
         }
         return null;
     }
 
     @Override
     public PropertyReader getIdentityPropertyReader(ClassInfo classInfo) {
-        return new FieldReader(classInfo, classInfo.identityField());
+        return fieldReader(classInfo, classInfo.identityField());
     }
 
     @Override
@@ -276,6 +276,35 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         return null;
     }
 
+    /**
+     * Creates the accessor that reads the given field. Subclasses may return a specialisation of {@link FieldReader}
+     * that accesses the field by other means than reflection.
+     */
+    protected FieldReader fieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldReader(classInfo, fieldInfo);
+    }
+
+    /**
+     * Creates the accessor that writes the given field.
+     */
+    protected FieldWriter fieldWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldWriter(classInfo, fieldInfo);
+    }
+
+    /**
+     * Creates the accessor that reads through the given getter.
+     */
+    protected MethodReader methodReader(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodReader(classInfo, methodInfo);
+    }
+
+    /**
+     * Creates the accessor that writes through the given setter.
+     */
+    protected MethodWriter methodWriter(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodWriter(classInfo, methodInfo);
+    }
+
     private MethodInfo getIterableSetterMethodInfo(ClassInfo classInfo, Class<?> parameterType) {
         List<MethodInfo> methodInfos = classInfo.findIterableSetters(parameterType);
         if (methodInfos.size() == 1) {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.entityaccess;
+
+import org.neo4j.ogm.metadata.MappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * Instantiates classes through their zero-argument constructors, whatever their visibility. The constructor of each
+ * class is looked up the first time the class is instantiated, and then called through a {@link MethodHandle}.
+ */
+public class DefaultEntityInstantiator implements EntityInstantiator {
+
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    private final ClassValue<MethodHandle> constructors = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR);
+            } catch (SecurityException | ReflectiveOperationException e) {
+                throw new MappingException("Unable to instantiate class: " + type.getName(), e);
+            }
+        }
+    };
+
+    @Override
+    public <T> T createInstance(Class<T> type) {
+        MethodHandle constructor = constructors.get(type);
+        try {
+            return type.cast((Object) constructor.invokeExact());
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new MappingException("Unable to instantiate class: " + type.getName(), t instanceof Exception ? (Exception) t : new RuntimeException(t));
+        }
+    }
+}
@@ -24,17 +24,30 @@ import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 
-import java.lang.reflect.Constructor;
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EntityFactory {
 
-    private final Map<String, String> taxaLeafClass = new HashMap<>();
+    // keyed by the taxa themselves, so that looking up the class of a node does not build a string
+    private final Map<List<String>, Class<?>> taxaLeafClass = new ConcurrentHashMap<>();
 
     private final MetaData metadata;
+    private final EntityInstantiator entityInstantiator;
 
     public EntityFactory(MetaData metadata) {
+        this(metadata, new DefaultEntityInstantiator());
+    }
+
+    /**
+     * @param metadata the mapping metadata, by which taxa are resolved to classes
+     * @param entityInstantiator the {@link EntityInstantiator} that creates instances of the resolved classes
+     */
+    public EntityFactory(MetaData metadata, EntityInstantiator entityInstantiator) {
         this.metadata = metadata;
+        this.entityInstantiator = entityInstantiator;
     }
 
     /**
@@ -67,32 +80,28 @@ public class EntityFactory {
             throw new MappingException("Cannot map to a class with no taxa by which to determine the class name.");
         }
 
-        String fqn = resolve(taxa);
-
-        try {
-            @SuppressWarnings("unchecked")
-            Class<T> loadedClass = (Class<T>) Class.forName(fqn);
-            Constructor<T> defaultConstructor = loadedClass.getDeclaredConstructor();
-            defaultConstructor.setAccessible(true);
-            return defaultConstructor.newInstance();
-        } catch (SecurityException | IllegalArgumentException | ReflectiveOperationException e) {
-            throw new MappingException("Unable to instantiate class: " + fqn, e);
-        }
+        @SuppressWarnings("unchecked")
+        Class<T> loadedClass = (Class<T>) resolve(taxa);
+        return entityInstantiator.createInstance(loadedClass);
     }
 
-    private String resolve(String... taxa) {
+    private Class<?> resolve(String... taxa) {
 
-        String fqn = taxaLeafClass.get(Arrays.toString(taxa));
+        Class<?> loadedClass = taxaLeafClass.get(Arrays.asList(taxa));
 
-        if (fqn == null) {
+        if (loadedClass == null) {
             ClassInfo classInfo = metadata.resolve(taxa);
-            if (classInfo != null) {
-                taxaLeafClass.put(Arrays.toString(taxa), fqn=classInfo.name());
-            } else {
+            if (classInfo == null) {
                 throw new MappingException("Could not resolve a single base class from " + Arrays.toString(taxa));
             }
+            try {
+                loadedClass = Class.forName(classInfo.name());
+            } catch (ClassNotFoundException e) {
+                throw new MappingException("Unable to instantiate class: " + classInfo.name(), e);
+            }
+            taxaLeafClass.put(Arrays.asList(taxa.clone()), loadedClass);
         }
-        return fqn;
+        return loadedClass;
     }
 
 }
\ No newline at end of file
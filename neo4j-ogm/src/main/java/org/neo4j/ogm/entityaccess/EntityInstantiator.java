@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.entityaccess;
+
+/**
+ * Creates the instances of domain classes that nodes and relationships are mapped to, before their properties and
+ * relationships are set.
+ *
+ * The {@link DefaultEntityInstantiator} calls the zero-argument constructor of the class, whatever its visibility.
+ * Another instantiator can be configured with {@link org.neo4j.ogm.session.DriverConfig#entityInstantiator}, for
+ * instance to create classes that have no such constructor.
+ */
+public interface EntityInstantiator {
+
+    /**
+     * @param type the class to instantiate
+     * @return a new instance of the class, never <code>null</code>
+     * @throws org.neo4j.ogm.metadata.MappingException if the class cannot be instantiated
+     */
+    <T> T createInstance(Class<T> type);
+}
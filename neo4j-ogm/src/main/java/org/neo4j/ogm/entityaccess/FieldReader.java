@@ -34,13 +34,17 @@ public class FieldReader implements RelationalReader, PropertyReader {
 
     @Override
     public Object read(Object instance) {
-        Object value = FieldWriter.read(classInfo.getField(fieldInfo), instance);
+        Object value = get(instance);
         if (fieldInfo.hasConverter()) {
             value = fieldInfo.converter().toGraphProperty(value);
         }
         return value;
     }
 
+    Object get(Object instance) {
+        return FieldWriter.read(classInfo.getField(fieldInfo), instance);
+    }
+
     @Override
     public String relationshipType() {
         return fieldInfo.relationship();
@@ -35,18 +35,22 @@ public class FieldWriter extends EntityAccess {
         this.fieldType = this.field.getType();
     }
 
+    /**
+     * @param field a field resolved by {@link ClassInfo#getField(FieldInfo)}, which has already been made accessible
+     */
     public static void write(Field field, Object instance, Object value) {
         try {
-            field.setAccessible(true);
             field.set(instance, value);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @param field a field resolved by {@link ClassInfo#getField(FieldInfo)}, which has already been made accessible
+     */
     public static Object read(Field field, Object instance) {
         try {
-            field.setAccessible(true);
             return field.get(instance);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -58,6 +62,10 @@ public class FieldWriter extends EntityAccess {
         if (fieldInfo.hasConverter()) {
             value = fieldInfo.converter().toEntityAttribute(value);
         }
+        set(instance, value);
+    }
+
+    void set(Object instance, Object value) {
         FieldWriter.write(field, instance, value);
     }
 
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package org.neo4j.ogm.entityaccess;
+
+import org.neo4j.ogm.metadata.ClassUtils;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.metadata.info.MethodInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An {@link EntityAccessStrategy} that chooses the same accessors as {@link DefaultEntityAccessStrategy}, but
+ * chooses each of them only once, and reads and writes through {@link MethodHandle}s instead of reflection.
+ *
+ * The accessors are remembered by the class, and the property, relationship or parameter type they were chosen
+ * for, for as long as the strategy is in use. Fields and methods that cannot be accessed through a method handle
+ * are accessed by reflection, as the default strategy does.
+ */
+public class MethodHandleEntityAccessStrategy extends DefaultEntityAccessStrategy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleEntityAccessStrategy.class);
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // stands for an accessor that could not be found, which the map cannot hold as null
+    private static final Object NONE = new Object();
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final ConcurrentMap<List<Object>, Object> accessors = new ConcurrentHashMap<>();
+
+    @Override
+    public PropertyReader getIdentityPropertyReader(ClassInfo classInfo) {
+        List<Object> key = Arrays.<Object>asList("identity", classInfo);
+        Object reader = accessors.get(key);
+        if (reader == null) {
+            reader = remember(key, super.getIdentityPropertyReader(classInfo));
+        }
+        return (PropertyReader) found(reader);
+    }
+
+    @Override
+    public PropertyReader getPropertyReader(ClassInfo classInfo, String propertyName) {
+        List<Object> key = Arrays.<Object>asList("propertyReader", classInfo, propertyName);
+        Object reader = accessors.get(key);
+        if (reader == null) {
+            reader = remember(key, super.getPropertyReader(classInfo, propertyName));
+        }
+        return (PropertyReader) found(reader);
+    }
+
+    @Override
+    public EntityAccess getPropertyWriter(ClassInfo classInfo, String propertyName) {
+        List<Object> key = Arrays.<Object>asList("propertyWriter", classInfo, propertyName);
+        Object writer = accessors.get(key);
+        if (writer == null) {
+            writer = remember(key, super.getPropertyWriter(classInfo, propertyName));
+        }
+        return (EntityAccess) found(writer);
+    }
+
+    @Override
+    public EntityAccess getRelationalWriter(ClassInfo classInfo, String relationshipType, Object parameter) {
+        List<Object> key = Arrays.<Object>asList("relationalWriter", classInfo, relationshipType, parameter.getClass());
+        Object writer = accessors.get(key);
+        if (writer == null) {
+            writer = remember(key, super.getRelationalWriter(classInfo, relationshipType, parameter));
+        }
+        return (EntityAccess) found(writer);
+    }
+
+    @Override
+    public RelationalReader getRelationalReader(ClassInfo classInfo, String relationshipType) {
+        List<Object> key = Arrays.<Object>asList("relationalReader", classInfo, relationshipType);
+        Object reader = accessors.get(key);
+        if (reader == null) {
+            reader = remember(key, super.getRelationalReader(classInfo, relationshipType));
+        }
+        return (RelationalReader) found(reader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<PropertyReader> getPropertyReaders(ClassInfo classInfo) {
+        List<Object> key = Arrays.<Object>asList("propertyReaders", classInfo);
+        Object readers = accessors.get(key);
+        if (readers == null) {
+            readers = remember(key, Collections.unmodifiableCollection(super.getPropertyReaders(classInfo)));
+        }
+        return (Collection<PropertyReader>) readers;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<RelationalReader> getRelationalReaders(ClassInfo classInfo) {
+        List<Object> key = Arrays.<Object>asList("relationalReaders", classInfo);
+        Object readers = accessors.get(key);
+        if (readers == null) {
+            readers = remember(key, Collections.unmodifiableCollection(super.getRelationalReaders(classInfo)));
+        }
+        return (Collection<RelationalReader>) readers;
+    }
+
+    @Override
+    public EntityAccess getIterableWriter(ClassInfo classInfo, Class<?> parameterType) {
+        List<Object> key = Arrays.<Object>asList("iterableWriter", classInfo, parameterType);
+        Object writer = accessors.get(key);
+        if (writer == null) {
+            writer = remember(key, super.getIterableWriter(classInfo, parameterType));
+        }
+        return (EntityAccess) found(writer);
+    }
+
+    @Override
+    public RelationalReader getIterableReader(ClassInfo classInfo, Class<?> parameterType) {
+        List<Object> key = Arrays.<Object>asList("iterableReader", classInfo, parameterType);
+        Object reader = accessors.get(key);
+        if (reader == null) {
+            reader = remember(key, super.getIterableReader(classInfo, parameterType));
+        }
+        return (RelationalReader) found(reader);
+    }
+
+    private Object remember(List<Object> key, Object accessor) {
+        Object remembered = accessors.putIfAbsent(key, accessor == null ? NONE : accessor);
+        return remembered != null ? remembered : accessor == null ? NONE : accessor;
+    }
+
+    private static Object found(Object accessor) {
+        return accessor == NONE ? null : accessor;
+    }
+
+    @Override
+    protected FieldReader fieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
+        Field field = classInfo.getField(fieldInfo);
+        try {
+            return new FieldHandleReader(classInfo, fieldInfo, lookup.unreflectGetter(field).asType(GETTER));
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Reading {} by reflection: {}", field, e.getMessage());
+            return super.fieldReader(classInfo, fieldInfo);
+        }
+    }
+
+    @Override
+    protected FieldWriter fieldWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
+        Field field = classInfo.getField(fieldInfo);
+        try {
+            return new FieldHandleWriter(classInfo, fieldInfo, lookup.unreflectSetter(field).asType(SETTER));
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Writing {} by reflection: {}", field, e.getMessage());
+            return super.fieldWriter(classInfo, fieldInfo);
+        }
+    }
+
+    @Override
+    protected MethodReader methodReader(ClassInfo classInfo, MethodInfo methodInfo) {
+        Method method = classInfo.getMethod(methodInfo);
+        try {
+            return new MethodHandleReader(classInfo, methodInfo, lookup.unreflect(method).asType(GETTER));
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Invoking {} by reflection: {}", method, e.getMessage());
+            return super.methodReader(classInfo, methodInfo);
+        }
+    }
+
+    @Override
+    protected MethodWriter methodWriter(ClassInfo classInfo, MethodInfo methodInfo) {
+        Method method = classInfo.getMethod(methodInfo, ClassUtils.getType(methodInfo.getDescriptor()));
+        try {
+            return new MethodHandleWriter(classInfo, methodInfo, lookup.unreflect(method).asType(SETTER));
+        } catch (IllegalAccessException e) {
+            LOGGER.debug("Invoking {} by reflection: {}", method, e.getMessage());
+            return super.methodWriter(classInfo, methodInfo);
+        }
+    }
+
+    private static class FieldHandleReader extends FieldReader {
+
+        private final MethodHandle getter;
+
+        FieldHandleReader(ClassInfo classInfo, FieldInfo fieldInfo, MethodHandle getter) {
+            super(classInfo, fieldInfo);
+            this.getter = getter;
+        }
+
+        @Override
+        Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+
+    private static class FieldHandleWriter extends FieldWriter {
+
+        private final MethodHandle setter;
+
+        FieldHandleWriter(ClassInfo classInfo, FieldInfo fieldInfo, MethodHandle setter) {
+            super(classInfo, fieldInfo);
+            this.setter = setter;
+        }
+
+        @Override
+        void set(Object instance, Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+
+    private static class MethodHandleReader extends MethodReader {
+
+        private final MethodHandle getter;
+
+        MethodHandleReader(ClassInfo classInfo, MethodInfo methodInfo, MethodHandle getter) {
+            super(classInfo, methodInfo);
+            this.getter = getter;
+        }
+
+        @Override
+        Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+
+    private static class MethodHandleWriter extends MethodWriter {
+
+        private final MethodInfo methodInfo;
+        private final MethodHandle setter;
+
+        MethodHandleWriter(ClassInfo classInfo, MethodInfo methodInfo, MethodHandle setter) {
+            super(classInfo, methodInfo);
+            this.methodInfo = methodInfo;
+            this.setter = setter;
+        }
+
+        @Override
+        void set(Object instance, Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (ClassCastException cce) {
+                throw new EntityAccessException("Failed to invoke method '" + methodInfo.getName() + "'. Expected argument type: " + ClassUtils.getType(methodInfo.getDescriptor()) + " actual argument type: " + value.getClass(), cce);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new EntityAccessException("Failed to invoke method '" + methodInfo.getName() + "'", t instanceof Exception ? (Exception) t : new RuntimeException(t));
+            }
+        }
+    }
+}
@@ -34,13 +34,17 @@ public class MethodReader implements RelationalReader, PropertyReader {
 
     @Override
     public Object read(Object instance) {
-        Object value = MethodWriter.read(classInfo.getMethod(methodInfo), instance);
+        Object value = get(instance);
         if (methodInfo.hasConverter()) {
             value = methodInfo.converter().toGraphProperty(value);
         }
         return value;
     }
 
+    Object get(Object instance) {
+        return MethodWriter.read(classInfo.getMethod(methodInfo), instance);
+    }
+
     @Override
     public String relationshipType() {
         return methodInfo.relationship();
@@ -60,6 +60,10 @@ public class MethodWriter extends EntityAccess {
         if (setterMethodInfo.hasConverter()) {
             value = setterMethodInfo.converter().toEntityAttribute(value);
         }
+        set(instance, value);
+    }
+
+    void set(Object instance, Object value) {
         MethodWriter.write(method, instance, value);
     }
 
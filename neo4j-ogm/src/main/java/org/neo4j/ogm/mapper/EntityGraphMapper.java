@@ -21,7 +21,6 @@ package org.neo4j.ogm.mapper;
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.cypher.compiler.*;
-import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.PropertyReader;
 import org.neo4j.ogm.entityaccess.RelationalReader;
@@ -32,7 +31,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Implementation of {@link EntityToGraphMapper} that is driven by an instance of {@link MetaData}.
@@ -44,6 +44,7 @@ public class EntityGraphMapper implements EntityToGraphMapper {
     private final MetaData metaData;
     private final EntityAccessStrategy entityAccessStrategy;
     private final MappingContext mappingContext;
+    private final boolean bulk;
 
     /**
      * Constructs a new {@link EntityGraphMapper} that uses the given {@link MetaData}.
@@ -52,9 +53,22 @@ public class EntityGraphMapper implements EntityToGraphMapper {
      * @param mappingContext The {@link MappingContext} for the current session
      */
     public EntityGraphMapper(MetaData metaData, MappingContext mappingContext) {
+        this(metaData, mappingContext, false);
+    }
+
+    /**
+     * Constructs a new {@link EntityGraphMapper} that uses the given {@link MetaData}, and optionally
+     * creates new nodes in bulk, with a {@link MultiStatementCypherCompiler}.
+     *
+     * @param metaData The {@link MetaData} containing the mapping information
+     * @param mappingContext The {@link MappingContext} for the current session
+     * @param bulk true to create new nodes with one statement per set of labels, rather than one statement for all changes
+     */
+    public EntityGraphMapper(MetaData metaData, MappingContext mappingContext, boolean bulk) {
         this.metaData = metaData;
         this.mappingContext = mappingContext;
-        this.entityAccessStrategy = new DefaultEntityAccessStrategy();
+        this.entityAccessStrategy = mappingContext.entityAccessStrategy();
+        this.bulk = bulk;
     }
 
     /**
@@ -72,28 +86,35 @@ public class EntityGraphMapper implements EntityToGraphMapper {
             throw new NullPointerException("Cannot map null object");
         }
 
-        CypherCompiler compiler = new SingleStatementCypherCompiler();
+        return map(Collections.singletonList(entity), horizon);
+    }
+
+    @Override
+    public CypherContext map(Collection<?> entities, int horizon) {
 
-        // add all the relationships we know about. This includes the relationships that
-        // won't be modified by the mapping request.
-        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships()) {
-            logger.debug("context-init: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-            compiler.context().registerRelationship(mappedRelationship);
+        if (entities == null) {
+            throw new NullPointerException("Cannot map null collection");
         }
 
-        logger.info("context initialised with {} relationships", mappingContext.mappedRelationships().size());
+        CypherCompiler compiler = bulk ? new MultiStatementCypherCompiler() : new SingleStatementCypherCompiler();
 
-        //compiler.context().registeredRelationships().addAll(mappingContext.mappedRelationships());
+        for (Object entity : entities) {
 
-        // if the map request is rooted on a relationship entity, we re-root it on the start node
-        if (isRelationshipEntity(entity)) {
-            entity = entityAccessStrategy.getStartNodeReader(metaData.classInfo(entity)).read(entity);
             if (entity == null) {
-                throw new RuntimeException("@StartNode of relationship entity may not be null");
+                throw new NullPointerException("Cannot map null object");
             }
+
+            // if the map request is rooted on a relationship entity, we re-root it on the start node
+            if (isRelationshipEntity(entity)) {
+                entity = entityAccessStrategy.getStartNodeReader(metaData.classInfo(entity)).read(entity);
+                if (entity == null) {
+                    throw new RuntimeException("@StartNode of relationship entity may not be null");
+                }
+            }
+
+            mapEntity(entity, horizon, compiler);
         }
 
-        mapEntity(entity, horizon, compiler);
         deleteObsoleteRelationships(compiler);
 
         return compiler.compile();
@@ -108,35 +129,31 @@ public class EntityGraphMapper implements EntityToGraphMapper {
      */
     private void deleteObsoleteRelationships(CypherCompiler compiler) {
         CypherContext context=compiler.context();
-        Iterator<MappedRelationship> mappedRelationshipIterator = mappingContext.mappedRelationships().iterator();
-
-        while (mappedRelationshipIterator.hasNext()) {
-            MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
-            if (!context.isRegisteredRelationship(mappedRelationship)) {
-                logger.debug("context-del: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                compiler.unrelate("$" + mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), "$" + mappedRelationship.getEndNodeId());
-                //mappedRelationship.deactivate();
-                clearRelatedObjects(mappedRelationship.getStartNodeId());
-                mappedRelationshipIterator.remove();
-            }
+
+        for (MappedRelationship mappedRelationship : context.deregisteredRelationships(mappingContext.mappedRelationships())) {
+            logger.debug("context-del: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+            compiler.unrelate(compiler.identifier(mappedRelationship.getStartNodeId()), mappedRelationship.getRelationshipType(), compiler.identifier(mappedRelationship.getEndNodeId()));
+            clearRelatedObjects(mappedRelationship.getStartNodeId());
+            mappingContext.mappedRelationships().remove(mappedRelationship);
+            // the deleted relationship is logged, deactivated, so that it stays forgotten once the transaction commits
+            mappedRelationship.deactivate();
+            context.log(mappedRelationship);
         }
     }
 
     private void clearRelatedObjects(Long node) {
-        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships()) {
-            if (mappedRelationship.getStartNodeId() == node || mappedRelationship.getEndNodeId() == node) {
-                Object dirty = mappingContext.get(mappedRelationship.getEndNodeId());
-                // forward
-                if (dirty != null) {
-                    logger.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.deregister(dirty, mappedRelationship.getEndNodeId());
-                }
-                // reverse
-                dirty = mappingContext.get(mappedRelationship.getStartNodeId());
-                if (dirty != null) {
-                    logger.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.deregister(dirty,  mappedRelationship.getStartNodeId());
-                }
+        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships().relationshipsOf(node)) {
+            Object dirty = mappingContext.get(mappedRelationship.getEndNodeId());
+            // forward
+            if (dirty != null) {
+                logger.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.deregister(dirty, mappedRelationship.getEndNodeId());
+            }
+            // reverse
+            dirty = mappingContext.get(mappedRelationship.getStartNodeId());
+            if (dirty != null) {
+                logger.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.deregister(dirty,  mappedRelationship.getStartNodeId());
             }
         }
     }
@@ -180,10 +197,11 @@ public class EntityGraphMapper implements EntityToGraphMapper {
      * @param nodeBuilder a {@link NodeBuilder} that knows how to compile node create/update cypher phrases
      */
     private void update(Object entity, CypherContext context, NodeBuilder nodeBuilder) {
-        if (mappingContext.isDirty(entity)) {
+        Set<String> changedProperties = mappingContext.changedProperties(entity);
+        if (changedProperties == null || !changedProperties.isEmpty()) {
             context.log(entity);
             ClassInfo classInfo = metaData.classInfo(entity);
-            nodeBuilder.mapProperties(entity, classInfo, entityAccessStrategy);
+            nodeBuilder.mapProperties(entity, classInfo, entityAccessStrategy, changedProperties);
         }
     }
 
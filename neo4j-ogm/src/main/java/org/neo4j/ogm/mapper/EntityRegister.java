@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.mapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A register of entities by their ids in the graph.
+ *
+ * The ids are kept in an open-addressing table of primitive longs, next to a table of the entities,
+ * so neither the ids nor the entries of the register need objects of their own. All the methods are
+ * synchronized, so a register may be shared by the threads that use a session.
+ */
+public class EntityRegister {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Object[] entities = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param id the id of the entity
+     * @return the entity registered with the given id, or null if there isn't one
+     */
+    public synchronized Object get(long id) {
+        int slot = slot(id);
+        return entities[slot];
+    }
+
+    /**
+     * Registers an entity with the given id, unless another entity is already registered with it.
+     *
+     * @param id the id of the entity
+     * @param entity the entity to register, which may not be null
+     * @return the entity that is registered with the id once this method returns
+     */
+    public synchronized Object register(long id, Object entity) {
+        if (entity == null) {
+            throw new NullPointerException("Cannot register null entity");
+        }
+        int slot = slot(id);
+        if (entities[slot] != null) {
+            return entities[slot];
+        }
+        ids[slot] = id;
+        entities[slot] = entity;
+        if (++size * 3 > entities.length * 2) {
+            resize(entities.length * 2);
+        }
+        return entity;
+    }
+
+    /**
+     * @param id the id of the entity
+     * @return the entity that was registered with the given id, or null if there wasn't one
+     */
+    public synchronized Object remove(long id) {
+        int slot = slot(id);
+        Object entity = entities[slot];
+        if (entity == null) {
+            return null;
+        }
+        entities[slot] = null;
+        size--;
+
+        // move the entries that follow in the same run of slots back, so none of them is left behind the gap
+        int mask = entities.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; entities[next] != null; next = (next + 1) & mask) {
+            int home = hash(ids[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                ids[gap] = ids[next];
+                entities[gap] = entities[next];
+                entities[next] = null;
+                gap = next;
+            }
+        }
+        return entity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entities, null);
+        size = 0;
+    }
+
+    /**
+     * @return a copy of the registered entities
+     */
+    public synchronized List<Object> entities() {
+        List<Object> result = new ArrayList<>(size);
+        for (Object entity : entities) {
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    // the slot holding the id, or the empty slot where it belongs
+    private int slot(long id) {
+        int mask = entities.length - 1;
+        int slot = hash(id) & mask;
+        while (entities[slot] != null && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Object[] oldEntities = entities;
+        ids = new long[capacity];
+        entities = new Object[capacity];
+        for (int i = 0; i < oldEntities.length; i++) {
+            if (oldEntities[i] != null) {
+                int slot = slot(oldIds[i]);
+                ids[slot] = oldIds[i];
+                entities[slot] = oldEntities[i];
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
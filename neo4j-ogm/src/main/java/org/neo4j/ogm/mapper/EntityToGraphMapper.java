@@ -20,6 +20,8 @@ package org.neo4j.ogm.mapper;
 
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 
+import java.util.Collection;
+
 /**
  * Specification for an object-graph mapper, which can map arbitrary Java objects onto Cypher data manipulation queries.
  */
@@ -48,4 +50,16 @@ public interface EntityToGraphMapper {
      */
     CypherContext map(Object entity, int depth);
 
+    /**
+     * Processes the given objects and any of their composite persistent objects to the specified depth and produces Cypher
+     * queries to persist all of their state in Neo4j in a single request.
+     *
+     * @param entities The "root" nodes of the object graphs to persist
+     * @param depth The number of objects away from each "root" to traverse when looking for objects to map
+     * @return A {@link CypherContext} object containing the statements required to persist the given objects to Neo4j, along
+     *         with a representation of the changes to be made by the Cypher statements never <code>null</code>
+     * @throws NullPointerException if invoked with <code>null</code>
+     */
+    CypherContext map(Collection<?> entities, int depth);
+
 }
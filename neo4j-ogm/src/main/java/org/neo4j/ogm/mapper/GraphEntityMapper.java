@@ -19,7 +19,6 @@
 package org.neo4j.ogm.mapper;
 
 import org.neo4j.ogm.annotation.Relationship;
-import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.EntityAccess;
 import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.EntityFactory;
@@ -56,9 +55,9 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
 
     public GraphEntityMapper(MetaData metaData, MappingContext mappingContext) {
         this.metadata = metaData;
-        this.entityFactory = new EntityFactory(metadata);
+        this.entityFactory = mappingContext.entityFactory();
         this.mappingContext = mappingContext;
-        this.entityAccessStrategy = new DefaultEntityAccessStrategy();
+        this.entityAccessStrategy = mappingContext.entityAccessStrategy();
     }
 
     @Override
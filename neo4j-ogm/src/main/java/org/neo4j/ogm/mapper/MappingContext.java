@@ -18,8 +18,11 @@
 
 package org.neo4j.ogm.mapper;
 
-import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.DefaultEntityInstantiator;
 import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityFactory;
+import org.neo4j.ogm.entityaccess.EntityInstantiator;
+import org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.PropertyReader;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -27,8 +30,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -48,21 +52,78 @@ public class MappingContext {
 
     private final Logger logger = LoggerFactory.getLogger(MappingContext.class);
 
-    private final ConcurrentMap<Long, Object> relationshipEntityRegister = new ConcurrentHashMap<>();
-    private final ConcurrentMap<Long, Object> nodeEntityRegister = new ConcurrentHashMap<>();
-    private final Set<MappedRelationship> relationshipRegister = new HashSet<>();
+    private final EntityRegister relationshipEntityRegister = new EntityRegister();
+    private final EntityRegister nodeEntityRegister = new EntityRegister();
+    private final RelationshipRegister relationshipRegister = new RelationshipRegister();
 
     // in addition we need the following
     // a typeRegister                   register of all entities of a specific type (including supertypes)
     // a
     private final ConcurrentMap<Class<?>, Set<Object>> typeRegister = new ConcurrentHashMap<>();
-    private final EntityMemo objectMemo = new EntityMemo();
+    private final EntityMemo objectMemo;
+
+    // when the context is bounded, the ids of the entities it holds in the order they were registered, oldest first.
+    // eviction is first in, first out: loading an entity again does not move it to the back
+    private final int maxEntities;
+    private final Set<Long> nodeEntityOrder = new LinkedHashSet<>();
+    private final Set<Long> relationshipEntityOrder = new LinkedHashSet<>();
 
     private final MetaData metaData;
-    private final EntityAccessStrategy entityAccessStrategy = new DefaultEntityAccessStrategy();
+    private final EntityAccessStrategy entityAccessStrategy;
+    private final EntityFactory entityFactory;
 
     public MappingContext(MetaData metaData) {
+        this(metaData, -1);
+    }
+
+    /**
+     * Constructs a MappingContext that holds at most maxEntities node entities, and as many
+     * relationship entities, once {@link #evict()} has been called.
+     *
+     * @param metaData the mapping metadata
+     * @param maxEntities the maximum number of entities of each kind to hold, or -1 to hold them all until cleared
+     */
+    public MappingContext(MetaData metaData, int maxEntities) {
+        this(metaData, maxEntities, new DefaultEntityInstantiator());
+    }
+
+    /**
+     * @param metaData the mapping metadata
+     * @param maxEntities the maximum number of entities of each kind to hold, or -1 to hold them all until cleared
+     * @param entityInstantiator creates the entities that nodes and relationships are mapped to
+     */
+    public MappingContext(MetaData metaData, int maxEntities, EntityInstantiator entityInstantiator) {
+        this(metaData, maxEntities, entityInstantiator, new MethodHandleEntityAccessStrategy());
+    }
+
+    /**
+     * @param metaData the mapping metadata
+     * @param maxEntities the maximum number of entities of each kind to hold, or -1 to hold them all until cleared
+     * @param entityInstantiator creates the entities that nodes and relationships are mapped to
+     * @param entityAccessStrategy reads and writes the entities, and may be shared by the contexts of the same metadata
+     */
+    public MappingContext(MetaData metaData, int maxEntities, EntityInstantiator entityInstantiator, EntityAccessStrategy entityAccessStrategy) {
         this.metaData = metaData;
+        this.maxEntities = maxEntities;
+        this.entityFactory = new EntityFactory(metaData, entityInstantiator);
+        this.entityAccessStrategy = entityAccessStrategy;
+        this.objectMemo = new EntityMemo(entityAccessStrategy);
+    }
+
+    /**
+     * @return the strategy through which the entities of this context are read and written, which remembers the
+     *         accessors it has chosen for as long as it is in use
+     */
+    public EntityAccessStrategy entityAccessStrategy() {
+        return entityAccessStrategy;
+    }
+
+    /**
+     * @return the factory of the entities of this context, which remembers the classes it has resolved labels to
+     *         for as long as the context is in use
+     */
+    public EntityFactory entityFactory() {
+        return entityFactory;
     }
 
     // these methods belong on the nodeEntityRegister
@@ -72,23 +133,45 @@ public class MappingContext {
 
     public Object registerNodeEntity(Object entity, Long id) {
         //logger.info("registering entity: " + entity);
-        nodeEntityRegister.putIfAbsent(id, entity);
-        entity = nodeEntityRegister.get(id);
+        entity = register(nodeEntityRegister, nodeEntityOrder, entity, id);
         registerTypes(entity.getClass(), entity);
         return entity;
     }
 
+    private Object register(EntityRegister register, Set<Long> order, Object entity, Long id) {
+        if (maxEntities < 0) {
+            return register.register(id, entity);
+        }
+        synchronized (order) {
+            int size = register.size();
+            entity = register.register(id, entity);
+            if (register.size() > size) {
+                order.add(id);
+            }
+            return entity;
+        }
+    }
+
     private void registerTypes(Class type, Object entity) {
         //System.out.println("registering " + object + " as instance of " + type.getSimpleName());
-        getAll(type).add(entity);
-        if (type.getSuperclass() != null
-                && metaData != null
-                && metaData.classInfo(type.getSuperclass().getName()) != null
-                && !type.getSuperclass().getName().equals("java.lang.Object")) {
-            registerTypes(type.getSuperclass(), entity);
+        for (Class<?> registeredType : typeHierarchy(type)) {
+            getAll(registeredType).add(entity);
         }
     }
 
+    private void evictTypes(Class type, Object entity) {
+        for (Class<?> registeredType : typeHierarchy(type)) {
+            Set<Object> entities = typeRegister.get(registeredType);
+            if (entities != null) {
+                entities.remove(entity);
+            }
+        }
+    }
+
+    private Class<?>[] typeHierarchy(Class<?> type) {
+        return metaData != null ? metaData.typeHierarchy(type) : new Class<?>[] { type };
+    }
+
     private void deregisterTypes(Class type, Object entity) {
         //System.out.println("deregistering " + object.getClass().getSimpleName() + " as instance of " + type.getSimpleName());
         //getAll(type).remove(entity);
@@ -115,10 +198,12 @@ public class MappingContext {
         //logger.info("de-registering: " + entity);
         deregisterTypes(entity.getClass(), entity);
         nodeEntityRegister.remove(id);
+        forget(nodeEntityOrder, id);
     }
 
     public void replace(Object entity, Long id) {
         nodeEntityRegister.remove(id);
+        forget(nodeEntityOrder, id);
         registerNodeEntity(entity, id);
         remember(entity);
     }
@@ -126,7 +211,8 @@ public class MappingContext {
     public Set<Object> getAll(Class<?> type) {
         Set<Object> objectList = typeRegister.get(type);
         if (objectList == null) {
-            typeRegister.putIfAbsent(type, Collections.synchronizedSet(new HashSet<>()));
+            // entities are held by identity, in a set with no entry objects of its own
+            typeRegister.putIfAbsent(type, Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>())));
             objectList = typeRegister.get(type);
         }
         return objectList;
@@ -142,12 +228,20 @@ public class MappingContext {
         return !objectMemo.remembered(entity, metaData.classInfo(entity));
     }
 
+    /**
+     * @param entity the object whose properties we want to check
+     * @return the names of the properties that have changed since the object was remembered, or null if it hasn't been
+     */
+    public Set<String> changedProperties(Object entity) {
+        return objectMemo.changedProperties(entity, metaData.classInfo(entity));
+    }
+
     // these methods belong on the relationship registry
     public boolean isRegisteredRelationship(MappedRelationship relationship) {
         return relationshipRegister.contains(relationship);
     }
 
-    public Set<MappedRelationship> mappedRelationships() {
+    public RelationshipRegister mappedRelationships() {
         return relationshipRegister;
     }
 
@@ -157,6 +251,12 @@ public class MappingContext {
     }
 
     public void clear() {
+        synchronized (nodeEntityOrder) {
+            nodeEntityOrder.clear();
+        }
+        synchronized (relationshipEntityOrder) {
+            relationshipEntityOrder.clear();
+        }
         objectMemo.clear();
         relationshipRegister.clear();
         nodeEntityRegister.clear();
@@ -171,10 +271,59 @@ public class MappingContext {
     }
 
     public Object registerRelationshipEntity(Object relationshipEntity, Long id) {
-        relationshipEntityRegister.putIfAbsent(id, relationshipEntity);
+        register(relationshipEntityRegister, relationshipEntityOrder, relationshipEntity, id);
         return relationshipEntity;
     }
 
+    private void forget(Set<Long> order, Long id) {
+        if (maxEntities < 0) {
+            return;
+        }
+        synchronized (order) {
+            order.remove(id);
+        }
+    }
+
+    /**
+     * Evicts the entities registered first from a bounded context, until it holds no more than its maximum number of
+     * entities. An evicted entity is forgotten altogether: it is removed from the registers, its properties are no
+     * longer remembered, and the relationships to and from it are no longer known, so that saving the entities still
+     * held does not delete them. Saving an evicted entity writes all its properties and relationships again.
+     *
+     * This should only be called between operations, once their results have been taken from the context.
+     */
+    public void evict() {
+        if (maxEntities < 0) {
+            return;
+        }
+        synchronized (nodeEntityOrder) {
+            Iterator<Long> ids = nodeEntityOrder.iterator();
+            while (nodeEntityRegister.size() > maxEntities && ids.hasNext()) {
+                Long id = ids.next();
+                ids.remove();
+                Object entity = nodeEntityRegister.remove(id);
+                if (entity != null) {
+                    logger.debug("evicting node entity: {}", id);
+                    evictTypes(entity.getClass(), entity);
+                    objectMemo.forget(entity);
+                    relationshipRegister.removeRelationshipsOf(id);
+                }
+            }
+        }
+        synchronized (relationshipEntityOrder) {
+            Iterator<Long> ids = relationshipEntityOrder.iterator();
+            while (relationshipEntityRegister.size() > maxEntities && ids.hasNext()) {
+                Long id = ids.next();
+                ids.remove();
+                Object entity = relationshipEntityRegister.remove(id);
+                if (entity != null) {
+                    logger.debug("evicting relationship entity: {}", id);
+                    objectMemo.forget(entity);
+                }
+            }
+        }
+    }
+
     /**
      * purges all information about objects of the supplied type
      * from the mapping context
@@ -212,15 +361,11 @@ public class MappingContext {
 
             nodeEntityRegister.remove(id);
             relationshipEntityRegister.remove(id);
+            forget(nodeEntityOrder, id);
+            forget(relationshipEntityOrder, id);
 
             // remove all relationship mappings to/from this object
-            Iterator<MappedRelationship> mappedRelationshipIterator = mappedRelationships().iterator();
-            while (mappedRelationshipIterator.hasNext()) {
-                MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
-                if (mappedRelationship.getStartNodeId() == id || mappedRelationship.getEndNodeId() == id) {
-                    mappedRelationshipIterator.remove();
-                }
-            }
+            relationshipRegister.removeRelationshipsOf(id);
         }
 
     }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.mapper;
+
+import java.util.*;
+
+/**
+ * A set of {@link MappedRelationship}s, indexed by their start and end nodes.
+ *
+ * The relationships to and from a node can be found, and removed, in time proportional to the number
+ * of relationships of that node, rather than to the size of the whole set. The index is kept up to date
+ * however the set is modified, including through its iterator.
+ */
+public class RelationshipRegister extends AbstractSet<MappedRelationship> {
+
+    private final Set<MappedRelationship> relationships = new HashSet<>();
+    private final Map<Long, Set<MappedRelationship>> outgoing = new HashMap<>();
+    private final Map<Long, Set<MappedRelationship>> incoming = new HashMap<>();
+
+    @Override
+    public boolean add(MappedRelationship relationship) {
+        if (relationships.add(relationship)) {
+            index(outgoing, relationship.getStartNodeId(), relationship);
+            index(incoming, relationship.getEndNodeId(), relationship);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (relationships.remove(object)) {
+            deindex((MappedRelationship) object);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return relationships.contains(object);
+    }
+
+    @Override
+    public int size() {
+        return relationships.size();
+    }
+
+    @Override
+    public void clear() {
+        relationships.clear();
+        outgoing.clear();
+        incoming.clear();
+    }
+
+    @Override
+    public Iterator<MappedRelationship> iterator() {
+        final Iterator<MappedRelationship> iterator = relationships.iterator();
+        return new Iterator<MappedRelationship>() {
+
+            private MappedRelationship current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public MappedRelationship next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                deindex(current);
+            }
+        };
+    }
+
+    /**
+     * @param startNodeId the id of the start node
+     * @param relationshipType the type of the relationships
+     * @return a copy of the relationships of the given type that start at the given node
+     */
+    public List<MappedRelationship> outgoing(long startNodeId, String relationshipType) {
+        return ofType(outgoing.get(startNodeId), relationshipType);
+    }
+
+    /**
+     * @param endNodeId the id of the end node
+     * @param relationshipType the type of the relationships
+     * @return a copy of the relationships of the given type that end at the given node
+     */
+    public List<MappedRelationship> incoming(long endNodeId, String relationshipType) {
+        return ofType(incoming.get(endNodeId), relationshipType);
+    }
+
+    /**
+     * @param nodeId the id of the node
+     * @return a copy of the relationships that start or end at the given node
+     */
+    public List<MappedRelationship> relationshipsOf(long nodeId) {
+        List<MappedRelationship> result = new ArrayList<>();
+        Set<MappedRelationship> from = outgoing.get(nodeId);
+        if (from != null) {
+            result.addAll(from);
+        }
+        Set<MappedRelationship> to = incoming.get(nodeId);
+        if (to != null) {
+            for (MappedRelationship relationship : to) {
+                // a relationship from the node to itself has already been added
+                if (relationship.getStartNodeId() != nodeId) {
+                    result.add(relationship);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the relationships that start or end at the given node.
+     *
+     * @param nodeId the id of the node
+     */
+    public void removeRelationshipsOf(long nodeId) {
+        for (MappedRelationship relationship : relationshipsOf(nodeId)) {
+            remove(relationship);
+        }
+    }
+
+    private static List<MappedRelationship> ofType(Set<MappedRelationship> relationships, String relationshipType) {
+        List<MappedRelationship> result = new ArrayList<>();
+        if (relationships != null) {
+            for (MappedRelationship relationship : relationships) {
+                if (relationship.getRelationshipType().equals(relationshipType)) {
+                    result.add(relationship);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void index(Map<Long, Set<MappedRelationship>> index, long nodeId, MappedRelationship relationship) {
+        Set<MappedRelationship> relationships = index.get(nodeId);
+        if (relationships == null) {
+            relationships = new HashSet<>();
+            index.put(nodeId, relationships);
+        }
+        relationships.add(relationship);
+    }
+
+    private static void deindex(Map<Long, Set<MappedRelationship>> index, long nodeId, MappedRelationship relationship) {
+        Set<MappedRelationship> relationships = index.get(nodeId);
+        if (relationships != null) {
+            relationships.remove(relationship);
+            if (relationships.isEmpty()) {
+                index.remove(nodeId);
+            }
+        }
+    }
+
+    private void deindex(MappedRelationship relationship) {
+        deindex(outgoing, relationship.getStartNodeId(), relationship);
+        deindex(incoming, relationship.getEndNodeId(), relationship);
+    }
+}
@@ -49,6 +49,10 @@ public class TransientRelationship {
         this.rel = rel;
     }
 
+    public String getRelationshipType() {
+        return rel;
+    }
+
     /**
      * Creates a MappedRelationship from a TransientRelationship
      * using the supplied refMap to lookup and replace the correct start and end node ids
@@ -57,8 +61,8 @@ public class TransientRelationship {
      */
     public MappedRelationship convert(Map<String, Long> refMap) {
 
-        Long srcIdentity = src.startsWith("_") ? refMap.get(src) : Long.parseLong(src.substring(1));
-        Long tgtIdentity = tgt.startsWith("_") ? refMap.get(tgt) : Long.parseLong(tgt.substring(1));
+        Long srcIdentity = refMap.get(src);
+        Long tgtIdentity = refMap.get(tgt);
 
         if (srcIdentity == null) {
             throw new RuntimeException("Couldn't get identity for " + src);
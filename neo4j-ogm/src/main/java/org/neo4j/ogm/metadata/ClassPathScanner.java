@@ -16,29 +16,60 @@
  * permissions and limitations under the License.
  */
 
+
 package org.neo4j.ogm.metadata;
 
 import org.neo4j.ogm.metadata.info.ClassFileProcessor;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.ClassInfoProcessor;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 public class ClassPathScanner {
 
+    private final int parallelism;
+
     private List<String> classPaths;
     private ClassFileProcessor processor;
 
-    private void scanFile(File file, String relativePath) throws IOException {
+    // when scanning in parallel, the class files found so far, in the order they were found
+    private List<ClassFile> classFiles;
+    private List<ZipFile> zipFiles;
+
+    public ClassPathScanner() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism the number of threads that read and parse class files. With 1, each class file is read and
+     *                    processed on the calling thread as it is found. Otherwise all the class files are found first,
+     *                    then read and parsed on a fork/join pool, and handed to the processor on the calling thread
+     *                    in the order they were found, so that the processor sees the same classes either way.
+     *                    Only a {@link ClassInfoProcessor} can be handed parsed classes, so any other processor is
+     *                    always scanned on the calling thread.
+     */
+    public ClassPathScanner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    private void scanFile(final File file, String relativePath) throws IOException {
         if (relativePath.endsWith(".class")) {
-            try (InputStream inputStream = new FileInputStream(file)) {
-                processor.process(inputStream);
-            }
+            scanClassFile(new ClassFile() {
+                @Override
+                public InputStream open() throws IOException {
+                    return new FileInputStream(file);
+                }
+            });
         }
     }
 
@@ -74,36 +105,147 @@ public class ClassPathScanner {
                     }
                 }
                 if (scanFile && path.endsWith(".class")) {
-                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
-                        processor.process(inputStream);
-                    }
+                    scanClassFile(new ClassFile() {
+                        @Override
+                        public InputStream open() throws IOException {
+                            return zipFile.getInputStream(entry);
+                        }
+                    });
                 }
             }
         }
     }
 
+    private void scanClassFile(ClassFile classFile) throws IOException {
+        if (classFiles != null) {
+            classFiles.add(classFile);
+        } else {
+            try (InputStream inputStream = classFile.open()) {
+                processor.process(inputStream);
+            }
+        }
+    }
+
     public void scan(List<String> classPaths, ClassFileProcessor processor) {
+        scan(ClassUtils.getUniqueClasspathElements(classPaths), classPaths, processor);
+    }
+
+    /**
+     * Scans the supplied directories, jar and zip files and class files for the classes under the supplied paths.
+     *
+     * @param classPathElements the directories, jar and zip files and class files to scan
+     * @param classPaths the paths, such as org/neo4j/ogm/domain, of the classes to scan within jar and zip files
+     * @param processor the processor of the classes found, which is finished once they have all been processed
+     */
+    public void scan(List<File> classPathElements, List<String> classPaths, ClassFileProcessor processor) {
 
         this.classPaths = classPaths;
         this.processor = processor;
 
+        if (parallelism > 1 && processor instanceof ClassInfoProcessor) {
+            classFiles = new ArrayList<>();
+            zipFiles = new ArrayList<>();
+        }
+
         try {
-            for (File classPathElement : ClassUtils.getUniqueClasspathElements(classPaths)) {
+            for (File classPathElement : classPathElements) {
                 String path = classPathElement.getPath();
                 if (classPathElement.isDirectory()) {
                     scanFolder(classPathElement, path.length() + 1);
                 } else if (classPathElement.isFile()) {
                     String pathLower = path.toLowerCase();
                     if (pathLower.endsWith(".jar") || pathLower.endsWith(".zip")) {
-                        scanZipFile(new ZipFile(classPathElement));
+                        ZipFile zipFile = new ZipFile(classPathElement);
+                        if (zipFiles != null) {
+                            // the entries are read later, so the file has to stay open until then
+                            zipFiles.add(zipFile);
+                        }
+                        scanZipFile(zipFile);
                     } else {
                         scanFile(classPathElement, classPathElement.getName());
                     }
                 }
             }
+            if (classFiles != null) {
+                for (ClassInfo classInfo : parse(classFiles)) {
+                    ((ClassInfoProcessor) processor).process(classInfo);
+                }
+            }
             processor.finish();
         } catch (IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (zipFiles != null) {
+                close(zipFiles);
+            }
+            classFiles = null;
+            zipFiles = null;
+        }
+    }
+
+    private ClassInfo[] parse(List<ClassFile> classFiles) {
+        ClassInfo[] classInfos = new ClassInfo[classFiles.size()];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ParseAction(classFiles, classInfos, 0, classInfos.length));
+        } finally {
+            pool.shutdown();
+        }
+        return classInfos;
+    }
+
+    private static void close(List<ZipFile> zipFiles) {
+        for (ZipFile zipFile : zipFiles) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                // nothing more is read from it
+            }
+        }
+    }
+
+    /**
+     * A class file in a directory or in a jar or zip file.
+     */
+    private interface ClassFile {
+
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Reads and parses a range of class files, splitting it in two while it is larger than a few dozen files.
+     */
+    private static class ParseAction extends RecursiveAction {
+
+        private static final int THRESHOLD = 32;
+
+        private final List<ClassFile> classFiles;
+        private final ClassInfo[] classInfos;
+        private final int from;
+        private final int to;
+
+        ParseAction(List<ClassFile> classFiles, ClassInfo[] classInfos, int from, int to) {
+            this.classFiles = classFiles;
+            this.classInfos = classInfos;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    try (InputStream inputStream = classFiles.get(i).open()) {
+                        classInfos[i] = new ClassInfo(inputStream);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseAction(classFiles, classInfos, from, middle),
+                        new ParseAction(classFiles, classInfos, middle, to));
+            }
         }
     }
 
@@ -26,19 +26,48 @@ import org.neo4j.ogm.metadata.info.DomainInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MetaData {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaData.class);
 
+    private static final Object NONE = new Object();
+
     private final DomainInfo domainInfo;
 
+    // the domain doesn't change once it has been loaded, so these are built once and never modified
+    private final Map<String, ClassInfo> labelToClassInfo;
+    private final Map<String, ClassInfo> typeToClassInfo;
+
+    // resolved base classes by taxa, NONE standing in for taxa that don't resolve to a single class
+    private final ConcurrentMap<List<String>, Object> resolved = new ConcurrentHashMap<>();
+
+    // the place of each class in the type hierarchy, worked out the first time the class is met
+    private final ConcurrentMap<ClassInfo, Lineage> lineages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Class<?>[]> typeHierarchies = new ConcurrentHashMap<>();
+
     public MetaData(String... packages) {
-        domainInfo = new DomainInfo(packages);
+        this(new ClassPathScanner(), packages);
+    }
+
+    /**
+     * @param scanner the scanner that finds the classes of the domain
+     * @param packages the packages of the domain
+     */
+    public MetaData(ClassPathScanner scanner, String... packages) {
+        domainInfo = new DomainInfo(scanner, packages);
+        labelToClassInfo = index(NodeEntity.class.getName(), "label");
+        typeToClassInfo = index(RelationshipEntity.class.getName(), "type");
     }
 
     /**
@@ -48,11 +77,11 @@ public class MetaData {
      * @return A ClassInfo matching the supplied name, or null if it doesn't exist
      */
     public ClassInfo classInfo(String name) {
-        ClassInfo classInfo = _classInfo(name, NodeEntity.class.getName(), "label");
+        ClassInfo classInfo = labelToClassInfo.get(name);
         if (classInfo != null) {
             return classInfo;
         }
-        classInfo = _classInfo(name, RelationshipEntity.class.getName(), "type");
+        classInfo = typeToClassInfo.get(name);
         if (classInfo != null) {
             return classInfo;
         }
@@ -70,18 +99,43 @@ public class MetaData {
         return classInfo(object.getClass().getName());
     }
 
-    private ClassInfo _classInfo(String name, String nodeEntityAnnotation, String annotationPropertyName) {
+    private Map<String, ClassInfo> index(String nodeEntityAnnotation, String annotationPropertyName) {
+        Map<String, ClassInfo> index = new HashMap<>();
         List<ClassInfo> labelledClasses = domainInfo.getClassInfosWithAnnotation(nodeEntityAnnotation);
         if (labelledClasses != null) {
             for (ClassInfo labelledClass : labelledClasses) {
                 AnnotationInfo annotationInfo = labelledClass.annotationsInfo().get(nodeEntityAnnotation);
                 String value = annotationInfo.get(annotationPropertyName, labelledClass.label());
-                if (value.equals(name)) {
-                    return labelledClass;
+                // the first class with a given label wins, as it always has
+                if (!index.containsKey(value)) {
+                    index.put(value, labelledClass);
                 }
             }
         }
-        return null;
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Finds the types under which instances of the supplied class are registered: the class itself, followed by each
+     * of its superclasses in turn for as long as they are part of the domain.
+     *
+     * @param type the class of an entity
+     * @return the class and its domain superclasses, nearest first, never <code>null</code>
+     */
+    public Class<?>[] typeHierarchy(Class<?> type) {
+        Class<?>[] typeHierarchy = typeHierarchies.get(type);
+        if (typeHierarchy == null) {
+            List<Class<?>> types = new ArrayList<>();
+            types.add(type);
+            Class<?> superclass = type.getSuperclass();
+            while (superclass != null && superclass != Object.class && classInfo(superclass.getName()) != null) {
+                types.add(superclass);
+                superclass = superclass.getSuperclass();
+            }
+            typeHierarchy = types.toArray(new Class<?>[types.size()]);
+            typeHierarchies.putIfAbsent(type, typeHierarchy);
+        }
+        return typeHierarchy;
     }
 
     /**
@@ -92,13 +146,24 @@ public class MetaData {
      * @return The ClassInfo representing the base class among the taxa or <code>null</code> if it cannot be found
      */
     public ClassInfo resolve(String... taxa) {
+        List<String> key = Arrays.asList(taxa.clone());
+        Object classInfo = resolved.get(key);
+        if (classInfo == null) {
+            classInfo = _resolve(taxa);
+            resolved.putIfAbsent(key, classInfo == null ? NONE : classInfo);
+        }
+        return classInfo == NONE ? null : (ClassInfo) classInfo;
+    }
+
+    private ClassInfo _resolve(String... taxa) {
 
         if (taxa.length > 0) {
             Set<ClassInfo> baseClasses = new HashSet<>();
             for (String taxon : taxa) {
                 ClassInfo taxonClassInfo = classInfo(taxon);
                 if (taxonClassInfo != null) {
-                    ClassInfo superclassInfo = classInfo(taxonClassInfo.superclassName());
+                    Lineage lineage = lineage(taxonClassInfo);
+                    ClassInfo superclassInfo = lineage.superclassInfo;
                     // if this class's superclass has already been registered, simply replace
                     // the superclass entry with the subclass entry. this is safe to do
                     // because by definition, the superclass must have a single-inheritance
@@ -108,8 +173,7 @@ public class MetaData {
                         baseClasses.add(taxonClassInfo);
                     } else {
                         // ensure this class has either no subclasses or is the superclass of a single-inheritance subclass-chain
-                        ClassInfo baseClassInfo = findSingleBaseClass(taxonClassInfo, taxonClassInfo.directSubclasses());
-                        if (baseClassInfo != null) {
+                        if (lineage.singleInheritance) {
                             // we don't care what the base class at the end of the chain is, we register the
                             // taxon class now.
                             baseClasses.add(taxonClassInfo);
@@ -128,6 +192,16 @@ public class MetaData {
         return null;
     }
 
+    private Lineage lineage(ClassInfo classInfo) {
+        Lineage lineage = lineages.get(classInfo);
+        if (lineage == null) {
+            lineage = new Lineage(classInfo(classInfo.superclassName()),
+                    findSingleBaseClass(classInfo, classInfo.directSubclasses()) != null);
+            lineages.putIfAbsent(classInfo, lineage);
+        }
+        return lineage;
+    }
+
     private ClassInfo findSingleBaseClass(ClassInfo fqn, List<ClassInfo> classInfoList) {
         if (classInfoList.isEmpty()) {
             return fqn;
@@ -141,5 +215,18 @@ public class MetaData {
 
     }
 
+    /**
+     * The superclass of a class, and whether the class has either no subclasses or is the superclass of a
+     * single-inheritance subclass-chain.
+     */
+    private static class Lineage {
+
+        private final ClassInfo superclassInfo;
+        private final boolean singleInheritance;
 
+        Lineage(ClassInfo superclassInfo, boolean singleInheritance) {
+            this.superclassInfo = superclassInfo;
+            this.singleInheritance = singleInheritance;
+        }
+    }
 }
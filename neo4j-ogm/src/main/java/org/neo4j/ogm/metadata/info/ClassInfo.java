@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Maintains object to graph mapping details at the class (type) level
@@ -70,6 +71,17 @@ public class ClassInfo {
     private final Set<InterfaceInfo> interfaces = new HashSet<>();
     private InterfacesInfo interfacesInfo = new InterfacesInfo();
 
+    // resolved on first use, once the domain has been scanned, and forgotten if the class is hydrated or extended
+    private volatile FieldInfo identityField;
+    private volatile Collection<FieldInfo> propertyFields;
+    private volatile Collection<FieldInfo> relationshipFields;
+    private volatile Collection<MethodInfo> propertyGetters;
+    private volatile Collection<MethodInfo> propertySetters;
+    private volatile Collection<MethodInfo> relationshipGetters;
+    private volatile Collection<MethodInfo> relationshipSetters;
+    private final Map<String, Field> fields = new ConcurrentHashMap<>();
+    private final Map<String, Method> methods = new ConcurrentHashMap<>();
+
     // todo move this to a factory class
     public ClassInfo(InputStream inputStream) throws IOException {
 
@@ -119,6 +131,7 @@ public class ClassInfo {
             this.annotationsInfo.append(classInfoDetails.annotationsInfo());
             this.fieldsInfo.append(classInfoDetails.fieldsInfo());
             this.methodsInfo.append(classInfoDetails.methodsInfo());
+            forgetAccessors();
        }
     }
 
@@ -126,6 +139,19 @@ public class ClassInfo {
         this.interfaces.addAll(classInfo.interfaces());
         this.fieldsInfo.append(classInfo.fieldsInfo());
         this.methodsInfo.append(classInfo.methodsInfo());
+        forgetAccessors();
+    }
+
+    private void forgetAccessors() {
+        identityField = null;
+        propertyFields = null;
+        relationshipFields = null;
+        propertyGetters = null;
+        propertySetters = null;
+        relationshipGetters = null;
+        relationshipSetters = null;
+        fields.clear();
+        methods.clear();
     }
 
     /** This class was referenced as a superclass of the given subclass. */
@@ -234,6 +260,14 @@ public class ClassInfo {
      * @throws MappingException if no identity field can be found
      */
     public FieldInfo identityField() {
+        FieldInfo identityField = this.identityField;
+        if (identityField == null) {
+            this.identityField = identityField = findIdentityField();
+        }
+        return identityField;
+    }
+
+    private FieldInfo findIdentityField() {
         for (FieldInfo fieldInfo : fieldsInfo().fields()) {
             AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(GraphId.CLASS);
             if (annotationInfo != null) {
@@ -258,6 +292,14 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's property fields
      */
     public Collection<FieldInfo> propertyFields() {
+        Collection<FieldInfo> propertyFields = this.propertyFields;
+        if (propertyFields == null) {
+            this.propertyFields = propertyFields = Collections.unmodifiableSet(findPropertyFields());
+        }
+        return propertyFields;
+    }
+
+    private Set<FieldInfo> findPropertyFields() {
         FieldInfo identityField = identityField();
         Set<FieldInfo> fieldInfos = new HashSet<>();
         for (FieldInfo fieldInfo : fieldsInfo().fields()) {
@@ -297,6 +339,14 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's relationship fields
      */
     public Collection<FieldInfo> relationshipFields() {
+        Collection<FieldInfo> relationshipFields = this.relationshipFields;
+        if (relationshipFields == null) {
+            this.relationshipFields = relationshipFields = Collections.unmodifiableSet(findRelationshipFields());
+        }
+        return relationshipFields;
+    }
+
+    private Set<FieldInfo> findRelationshipFields() {
         FieldInfo identityField = identityField();
         Set<FieldInfo> fieldInfos = new HashSet<>();
         for (FieldInfo fieldInfo : fieldsInfo().fields()) {
@@ -384,6 +434,14 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> propertyGetters() {
+        Collection<MethodInfo> propertyGetters = this.propertyGetters;
+        if (propertyGetters == null) {
+            this.propertyGetters = propertyGetters = Collections.unmodifiableSet(findPropertyGetters());
+        }
+        return propertyGetters;
+    }
+
+    private Set<MethodInfo> findPropertyGetters() {
         MethodInfo identityGetter = identityGetter();
         Set<MethodInfo> propertyGetters = new HashSet<>();
         for (MethodInfo methodInfo : methodsInfo().getters()) {
@@ -408,6 +466,14 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property setters
      */
     public Collection<MethodInfo> propertySetters() {
+        Collection<MethodInfo> propertySetters = this.propertySetters;
+        if (propertySetters == null) {
+            this.propertySetters = propertySetters = Collections.unmodifiableSet(findPropertySetters());
+        }
+        return propertySetters;
+    }
+
+    private Set<MethodInfo> findPropertySetters() {
         MethodInfo identitySetter = identitySetter();
         Set<MethodInfo> propertySetters = new HashSet<>();
         for (MethodInfo methodInfo : methodsInfo().setters()) {
@@ -432,6 +498,14 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> relationshipGetters() {
+        Collection<MethodInfo> relationshipGetters = this.relationshipGetters;
+        if (relationshipGetters == null) {
+            this.relationshipGetters = relationshipGetters = Collections.unmodifiableSet(findRelationshipGetters());
+        }
+        return relationshipGetters;
+    }
+
+    private Set<MethodInfo> findRelationshipGetters() {
         MethodInfo identityGetter = identityGetter();
         Set<MethodInfo> relationshipGetters = new HashSet<>();
         for (MethodInfo methodInfo : methodsInfo().getters()) {
@@ -456,6 +530,14 @@ public class ClassInfo {
      * @return A Collection of MethodInfo objects describing the classInfo's property getters
      */
     public Collection<MethodInfo> relationshipSetters() {
+        Collection<MethodInfo> relationshipSetters = this.relationshipSetters;
+        if (relationshipSetters == null) {
+            this.relationshipSetters = relationshipSetters = Collections.unmodifiableSet(findRelationshipSetters());
+        }
+        return relationshipSetters;
+    }
+
+    private Set<MethodInfo> findRelationshipSetters() {
         MethodInfo identitySetter = identitySetter();
         Set<MethodInfo> relationshipSetters = new HashSet<>();
         for (MethodInfo methodInfo : methodsInfo().setters()) {
@@ -546,11 +628,23 @@ public class ClassInfo {
     }
 
     /**
+     * Finds the field described by the supplied FieldInfo in this class or its superclasses. The field is looked
+     * up by reflection the first time only, and made accessible.
      *
-     * @param fieldInfo
-     * @return
+     * @param fieldInfo the FieldInfo describing the field
+     * @return the {@link Field}, never <code>null</code>
      */
     public Field getField(FieldInfo fieldInfo) {
+        Field field = fields.get(fieldInfo.getName());
+        if (field == null) {
+            field = findField(fieldInfo);
+            field.setAccessible(true);
+            fields.put(fieldInfo.getName(), field);
+        }
+        return field;
+    }
+
+    private Field findField(FieldInfo fieldInfo) {
         try {
             return Class.forName(name()).getDeclaredField(fieldInfo.getName());
         } catch (NoSuchFieldException e) {
@@ -566,17 +660,29 @@ public class ClassInfo {
     }
 
     /**
+     * Finds the public method described by the supplied MethodInfo, taking the given parameter types. The method is
+     * looked up by reflection the first time only.
      *
-     * @param methodInfo
-     * @param parameterTypes
-     * @return
+     * @param methodInfo the MethodInfo describing the method
+     * @param parameterTypes the types of the parameters of the method
+     * @return the {@link Method}, never <code>null</code>
      */
     public Method getMethod(MethodInfo methodInfo, Class... parameterTypes) {
-        try {
-            return Class.forName(name()).getMethod(methodInfo.getName(), parameterTypes);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        StringBuilder signature = new StringBuilder(methodInfo.getName());
+        for (Class parameterType : parameterTypes) {
+            signature.append(',').append(parameterType.getName());
+        }
+        String key = signature.toString();
+        Method method = methods.get(key);
+        if (method == null) {
+            try {
+                method = Class.forName(name()).getMethod(methodInfo.getName(), parameterTypes);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            methods.put(key, method);
         }
+        return method;
     }
 
     /**
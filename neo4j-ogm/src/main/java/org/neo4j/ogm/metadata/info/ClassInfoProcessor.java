@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.metadata.info;
+
+/**
+ * A {@link ClassFileProcessor} that can also be handed classes that have already been parsed, which lets a
+ * {@link org.neo4j.ogm.metadata.ClassPathScanner} parse class files on several threads. Processors that only
+ * read class files are handed them one at a time, as they are found.
+ */
+public interface ClassInfoProcessor extends ClassFileProcessor {
+
+    void process(ClassInfo classInfo);
+
+}
@@ -28,7 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
-public class DomainInfo implements ClassFileProcessor {
+public class DomainInfo implements ClassInfoProcessor {
 
     private static final String dateSignature = "java/util/Date";
     private static final String bigDecimalSignature = "java/math/BigDecimal";
@@ -41,14 +41,19 @@ public class DomainInfo implements ClassFileProcessor {
     private final Map<String, InterfaceInfo> interfaceNameToInterfaceInfo = new HashMap<>();
     private final Map<String, ArrayList<ClassInfo>> annotationNameToClassInfo = new HashMap<>();
     private final Map<String, ArrayList<ClassInfo>> interfaceNameToClassInfo = new HashMap<>();
+    private final Map<String, ArrayList<ClassInfo>> simpleNameToClassInfo = new HashMap<>();
 
     private final Set<String> enumTypes = new HashSet<>();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassFileProcessor.class);
 
     public DomainInfo(String... packages) {
+        this(new ClassPathScanner(), packages);
+    }
+
+    public DomainInfo(ClassPathScanner scanner, String... packages) {
         long now = -System.currentTimeMillis();
-        load(packages);
+        load(scanner, packages);
         LOGGER.info(classNameToClassInfo.entrySet().size() + " classes loaded in " + (now + System.currentTimeMillis()) + " milliseconds");
     }
 
@@ -150,6 +155,25 @@ public class DomainInfo implements ClassFileProcessor {
             removeTransientClass(transientClass);
         }
 
+        buildSimpleNameToClassInfoMap();
+    }
+
+    private void buildSimpleNameToClassInfoMap() {
+        // the classes whose fqn ends with a given name all share the last segment of that name
+        simpleNameToClassInfo.clear();
+        for (Map.Entry<String, ClassInfo> entry : classNameToClassInfo.entrySet()) {
+            if (entry.getKey() == null) continue;
+            String simpleName = simpleName(entry.getKey());
+            ArrayList<ClassInfo> classInfoList = simpleNameToClassInfo.get(simpleName);
+            if (classInfoList == null) {
+                simpleNameToClassInfo.put(simpleName, classInfoList = new ArrayList<>());
+            }
+            classInfoList.add(entry.getValue());
+        }
+    }
+
+    private static String simpleName(String name) {
+        return name == null ? null : name.substring(name.lastIndexOf('.') + 1);
     }
 
     private void removeTransientClass(ClassInfo transientClass) {
@@ -172,8 +196,10 @@ public class DomainInfo implements ClassFileProcessor {
     }
 
     public void process(final InputStream inputStream) throws IOException {
+        process(new ClassInfo(inputStream));
+    }
 
-        ClassInfo classInfo = new ClassInfo(inputStream);
+    public void process(ClassInfo classInfo) {
 
         String className = classInfo.name();
         String superclassName = classInfo.superclassName();
@@ -211,20 +237,21 @@ public class DomainInfo implements ClassFileProcessor {
 
     }
 
-    private void load(String... packages) {
+    private void load(ClassPathScanner scanner, String... packages) {
 
         classPaths.clear();
         classNameToClassInfo.clear();
         interfaceNameToInterfaceInfo.clear();
         annotationNameToClassInfo.clear();
         interfaceNameToClassInfo.clear();
+        simpleNameToClassInfo.clear();
 
         for (String packageName : packages) {
             String path = packageName.replaceAll("\\.", File.separator);
             classPaths.add(path);
         }
 
-        new ClassPathScanner().scan(classPaths, this);
+        scanner.scan(classPaths, this);
 
     }
 
@@ -234,11 +261,17 @@ public class DomainInfo implements ClassFileProcessor {
 
     public ClassInfo getClassSimpleName(String fullOrPartialClassName) {
 
+        List<ClassInfo> candidates = simpleNameToClassInfo.get(simpleName(fullOrPartialClassName));
+        if (candidates == null) {
+            return null;
+        }
+
         ClassInfo match = null;
-        for (String fqn : classNameToClassInfo.keySet()) {
+        for (ClassInfo candidate : candidates) {
+            String fqn = candidate.name();
             if (fqn.endsWith("." + fullOrPartialClassName) || fqn.equals(fullOrPartialClassName)) {
                 if (match == null) {
-                    match = classNameToClassInfo.get(fqn);
+                    match = candidate;
                 } else {
                     throw new MappingException("More than one class has simple name: " + fullOrPartialClassName);
                 }
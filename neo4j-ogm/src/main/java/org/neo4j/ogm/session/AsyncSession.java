@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.session.transaction.Transaction;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link Session} whose operations return immediately, so that one thread can keep several requests in flight.
+ *
+ * This is a convenience over the synchronous {@link Session}, not non-blocking I/O: each operation runs the
+ * synchronous session on a thread of the pool of the {@link SessionFactory}, and holds that thread and an HTTP
+ * connection for as long as it is in flight. How many operations can be in flight at once is therefore bounded by
+ * the size of that pool.
+ *
+ * The session is only locked while the statements of a save are compiled and while the results of a request are
+ * mapped into it, so those steps happen one at a time, but the requests themselves do not wait for each other.
+ *
+ * A transaction begun on the calling thread does not apply to these operations. Each runs in a transaction of its
+ * own, unless a transaction has been begun with {@link #beginTransaction()}, in which case the operations asked
+ * for until it is committed or rolled back run in it, one at a time, in the order they were asked for.
+ */
+public interface AsyncSession {
+
+    <T> Future<T> load(Class<T> type, Long id);
+
+    <T> Future<T> load(Class<T> type, Long id, int depth);
+
+    <T> Future<Collection<T>> loadAll(Class<T> type, Collection<Long> ids);
+
+    <T> Future<Collection<T>> loadAll(Class<T> type, Collection<Long> ids, int depth);
+
+    <T> Future<Collection<T>> loadAll(Class<T> type);
+
+    <T> Future<Collection<T>> loadAll(Class<T> type, int depth);
+
+    <T> Future<Collection<T>> loadByProperty(Class<T> type, Property<String, Object> property);
+
+    <T> Future<Collection<T>> loadByProperty(Class<T> type, Property<String, Object> property, int depth);
+
+    <T> Future<Iterable<T>> query(Class<T> objectType, String cypher, Map<String, ?> parameters);
+
+    Future<Iterable<Map<String, Object>>> query(String cypher, Map<String, ?> parameters);
+
+    /**
+     * @return a future holding the saved object, whose identity has been set once the future is done
+     */
+    <T> Future<T> save(T object);
+
+    <T> Future<T> save(T object, int depth);
+
+    <T> Future<T> delete(T object);
+
+    /**
+     * Begins a transaction that the operations of this session then run in, whichever thread they run on.
+     * The futures of those operations should be waited for before the transaction is committed or rolled back.
+     *
+     * @return the new transaction, which is not bound to the calling thread
+     */
+    Transaction beginTransaction();
+
+    /**
+     * @return the synchronous {@link Session} that this session's operations are run by
+     */
+    Session session();
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Invalidates what the {@link EntityCache} and the {@link QueryCache} of a {@link SessionFactory} hold for the nodes,
+ * labels and relationship types that a session writes to.
+ *
+ * Writes made in a transaction are invalidated as they are sent, but until the transaction commits other sessions
+ * still read, and may cache, what was committed before. A transaction therefore has an invalidator of its own that
+ * records what it invalidates, and invalidates it all again once the transaction has committed.
+ */
+public class CacheInvalidator {
+
+    private final EntityCache entityCache;
+    private final QueryCache queryCache;
+
+    private final boolean recording;
+    private final Set<Long> nodes = new HashSet<>();
+    private final Set<String> labels = new HashSet<>();
+    private final Set<String> names = new HashSet<>();
+    private boolean allNodes;
+    private boolean allNames;
+
+    public CacheInvalidator(EntityCache entityCache, QueryCache queryCache) {
+        this(entityCache, queryCache, false);
+    }
+
+    private CacheInvalidator(EntityCache entityCache, QueryCache queryCache, boolean recording) {
+        this.entityCache = entityCache;
+        this.queryCache = queryCache;
+        this.recording = recording;
+    }
+
+    /**
+     * @return a new invalidator of the same caches, which records what it invalidates so that it can be replayed
+     */
+    public CacheInvalidator recording() {
+        return new CacheInvalidator(entityCache, queryCache, true);
+    }
+
+    /**
+     * @param ids the ids of nodes that have been saved or deleted
+     */
+    public synchronized void nodes(Collection<Long> ids) {
+        for (Long id : ids) {
+            entityCache.invalidate(id);
+        }
+        if (recording) {
+            nodes.addAll(ids);
+        }
+    }
+
+    /**
+     * @param label the label of the class all of whose nodes have been deleted
+     */
+    public synchronized void label(String label) {
+        entityCache.invalidate(label);
+        if (recording) {
+            labels.add(label);
+        }
+    }
+
+    /**
+     * @param written the labels or relationship types that have been written to, or none if they are not known
+     */
+    public synchronized void names(Collection<String> written) {
+        queryCache.invalidate(written);
+        if (recording) {
+            if (written.isEmpty()) {
+                allNames = true;
+            }
+            names.addAll(written);
+        }
+    }
+
+    /**
+     * @param cypher a statement that has been executed, which may have changed any node
+     */
+    public synchronized void statement(String cypher) {
+        entityCache.clear();
+        if (recording) {
+            allNodes = true;
+        }
+        names(QueryCache.names(cypher));
+    }
+
+    /**
+     * Invalidates everything, as when the database has been purged.
+     */
+    public synchronized void clear() {
+        entityCache.clear();
+        queryCache.clear();
+        if (recording) {
+            allNodes = true;
+            allNames = true;
+        }
+    }
+
+    /**
+     * Invalidates again everything this invalidator has recorded.
+     */
+    public synchronized void replay() {
+        if (allNodes) {
+            entityCache.clear();
+        } else {
+            for (Long id : nodes) {
+                entityCache.invalidate(id);
+            }
+            for (String label : labels) {
+                entityCache.invalidate(label);
+            }
+        }
+        if (allNames) {
+            queryCache.clear();
+        } else if (!names.isEmpty()) {
+            queryCache.invalidate(names);
+        }
+    }
+}
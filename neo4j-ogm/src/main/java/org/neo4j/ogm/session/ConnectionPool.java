@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the pooled HTTP client shared by the sessions of a {@link SessionFactory}, and evicts
+ * expired and idle connections from the pool in the background.
+ */
+class ConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final IdleConnectionMonitor monitor;
+
+    ConnectionPool(final DriverConfig config) {
+
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.getConnectTimeout())
+                .setSocketTimeout(config.getSocketTimeout())
+                .setConnectionRequestTimeout(config.getConnectionRequestTimeout())
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                // compression is negotiated per request, see DriverConfig.compression
+                .disableContentCompression()
+                .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                    @Override
+                    public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                        // honour the server's Keep-Alive header if there is one
+                        long duration = super.getKeepAliveDuration(response, context);
+                        return duration > 0 ? duration : config.getKeepAlive();
+                    }
+                })
+                .build();
+
+        if (config.getEvictionInterval() > 0) {
+            monitor = new IdleConnectionMonitor(config.getEvictionInterval(), config.getIdleTimeout());
+            monitor.start();
+        } else {
+            monitor = null;
+        }
+    }
+
+    CloseableHttpClient httpClient() {
+        return httpClient;
+    }
+
+    PoolStats statistics() {
+        return connectionManager.getTotalStats();
+    }
+
+    void close() {
+        if (monitor != null) {
+            monitor.shutdown();
+        }
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close http client: " + e.getLocalizedMessage());
+        }
+    }
+
+    private class IdleConnectionMonitor extends Thread {
+
+        private final long interval;
+        private final long idleTimeout;
+        private volatile boolean shutdown;
+
+        IdleConnectionMonitor(long interval, long idleTimeout) {
+            super("neo4j-ogm-idle-connection-monitor");
+            this.interval = interval;
+            this.idleTimeout = idleTimeout;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shutdown) {
+                    synchronized (this) {
+                        wait(interval);
+                    }
+                    connectionManager.closeExpiredConnections();
+                    connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                // terminate
+            }
+        }
+
+        void shutdown() {
+            shutdown = true;
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}
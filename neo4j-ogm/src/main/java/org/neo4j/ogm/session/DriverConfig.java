@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.ogm.entityaccess.DefaultEntityInstantiator;
+import org.neo4j.ogm.entityaccess.EntityInstantiator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configures the HTTP transport shared by all the sessions created by a {@link SessionFactory}, and the
+ * entities those sessions hold and cache.
+ *
+ * All times are in milliseconds. A timeout of -1 leaves the value undefined, in which case the
+ * system default applies, and a timeout of 0 means wait indefinitely.
+ */
+public class DriverConfig {
+
+    private int maxConnectionsPerRoute = 20;
+    private int maxConnections = 50;
+
+    private long keepAlive = 60000;
+    private long idleTimeout = 30000;
+    private long evictionInterval = 5000;
+
+    private int connectTimeout = -1;
+    private int socketTimeout = -1;
+    private int connectionRequestTimeout = -1;
+
+    private int asyncThreads = 20;
+
+    private boolean compression = false;
+    private int compressionThreshold = -1;
+
+    private int maxEntities = -1;
+
+    private EntityInstantiator entityInstantiator = new DefaultEntityInstantiator();
+
+    private final Map<Class<?>, Long> cacheTimesToLive = new HashMap<>();
+    private final Map<Class<?>, Integer> cacheMaxEntries = new HashMap<>();
+
+    private long queryCacheTimeToLive = 0;
+    private int queryCacheMaxEntries = 0;
+
+    private int scanThreads = 1;
+
+    /**
+     * @param maxConnectionsPerRoute the maximum number of pooled connections to a single Neo4j server
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * @param maxConnections the maximum number of pooled connections across all servers
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig maxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * @param keepAlive how long an idle connection may be kept open for re-use, if the server doesn't say otherwise
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig keepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * @param idleTimeout how long a connection may stay idle in the pool before it is evicted
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig idleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * @param evictionInterval how often the pool is checked for expired and idle connections. 0 disables eviction.
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig evictionInterval(long evictionInterval) {
+        this.evictionInterval = evictionInterval;
+        return this;
+    }
+
+    /**
+     * @param connectTimeout how long to wait for a connection to the server to be established
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * @param socketTimeout how long to wait for data from the server
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig socketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+        return this;
+    }
+
+    /**
+     * @param connectionRequestTimeout how long a request waits to lease a connection from the pool
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig connectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+
+    /**
+     * @param asyncThreads the number of threads that run the requests of {@link AsyncSession}s, which is also the most
+     *                     of those requests that can be in flight at once
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig asyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+        return this;
+    }
+
+    /**
+     * @param compression whether the server may gzip its responses, which are then decompressed as they are read
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig compression(boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * @param compressionThreshold the size in bytes above which request bodies are gzipped. -1 never compresses requests.
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig compressRequestsAbove(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        return this;
+    }
+
+    /**
+     * @param maxEntities the number of entities a session holds once an operation has completed, evicting those it
+     *                    loaded or saved first. -1 holds them all until the session is cleared.
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig maxEntities(int maxEntities) {
+        this.maxEntities = maxEntities;
+        return this;
+    }
+
+    /**
+     * @param entityInstantiator creates the instances of domain classes that sessions map nodes and relationships
+     *                           to, in place of calling their zero-argument constructors
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig entityInstantiator(EntityInstantiator entityInstantiator) {
+        this.entityInstantiator = entityInstantiator;
+        return this;
+    }
+
+    /**
+     * Caches the properties of the nodes of a class in the {@link SessionFactory}, so that sessions can load them
+     * without a request to the server. This is meant for reference data that rarely changes.
+     *
+     * @param type the class whose nodes are cached
+     * @param timeToLive how long, in milliseconds, the properties of a node are cached once read
+     * @param maxEntries the number of nodes cached, beyond which the least recently used are evicted
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig cache(Class<?> type, long timeToLive, int maxEntries) {
+        this.cacheTimesToLive.put(type, timeToLive);
+        this.cacheMaxEntries.put(type, maxEntries);
+        return this;
+    }
+
+    /**
+     * Caches the results of read-only queries in the {@link SessionFactory}, for all its sessions. A result is
+     * invalidated when a session writes to a label or relationship type its query names.
+     *
+     * @param timeToLive how long, in milliseconds, the result of a query is cached
+     * @param maxEntries the number of results cached, beyond which the least recently used are evicted
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig cacheQueries(long timeToLive, int maxEntries) {
+        this.queryCacheTimeToLive = timeToLive;
+        this.queryCacheMaxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * @param scanThreads the number of threads that read and parse the class files of the domain when the
+     *                    {@link SessionFactory} is created. 1 scans them on the thread creating the factory.
+     * @return this {@link DriverConfig}
+     */
+    public DriverConfig scanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+        return this;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    public EntityInstantiator getEntityInstantiator() {
+        return entityInstantiator;
+    }
+
+    public Map<Class<?>, Long> getCacheTimesToLive() {
+        return cacheTimesToLive;
+    }
+
+    public Map<Class<?>, Integer> getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public long getQueryCacheTimeToLive() {
+        return queryCacheTimeToLive;
+    }
+
+    public int getQueryCacheMaxEntries() {
+        return queryCacheMaxEntries;
+    }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+}
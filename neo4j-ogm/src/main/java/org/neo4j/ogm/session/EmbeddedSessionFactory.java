@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.cypher.javacompat.ExecutionEngine;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.ogm.session.request.EmbeddedRequestHandler;
+import org.neo4j.ogm.session.transaction.EmbeddedTransactionManager;
+
+/**
+ * A {@link SessionFactory} that can also open sessions against an embedded database, whose statements run
+ * in-process, without going through HTTP or JSON.
+ *
+ * This is kept apart from {@link SessionFactory} so that applications talking to a server over HTTP don't need
+ * the Neo4j classes to compile against it.
+ *
+ * The sessions of the factory share one Cypher execution engine, and with it the plans it has cached. The HTTP
+ * connection pool of the factory is only created if it is also asked for sessions against a server.
+ */
+public class EmbeddedSessionFactory extends SessionFactory {
+
+    private static final String EMBEDDED_URL = "embedded:";
+
+    private final GraphDatabaseService database;
+    private final ExecutionEngine executionEngine;
+
+    public EmbeddedSessionFactory(GraphDatabaseService database, String... packages) {
+        this(database, new DriverConfig(), packages);
+    }
+
+    public EmbeddedSessionFactory(GraphDatabaseService database, DriverConfig config, String... packages) {
+        super(config, packages);
+        this.database = database;
+        this.executionEngine = new ExecutionEngine(database);
+    }
+
+    /**
+     * Opens a session against the embedded database of this factory.
+     *
+     * @return a new {@link Session}
+     */
+    public Session openSession() {
+        return openSession(EMBEDDED_URL, new EmbeddedTransactionManager(database, EMBEDDED_URL),
+                new EmbeddedRequestHandler(database, executionEngine, objectMapper()));
+    }
+}
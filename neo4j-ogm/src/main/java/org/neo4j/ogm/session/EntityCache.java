@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds snapshots of the properties of nodes, shared by the sessions of a {@link SessionFactory}, so that
+ * entities of rarely changing classes can be loaded without a request to the server.
+ *
+ * Only the classes configured with {@link DriverConfig#cache(Class, long, int)} are cached, each in a region
+ * of its own, keyed by the label of the class. A snapshot expires once it has been held for the time to live of
+ * its class, and the least recently used snapshots are evicted from a region when it is full. Snapshots are
+ * invalidated when their nodes are saved or deleted through a session of the factory, but not when they are
+ * changed by other means, which only the time to live guards against.
+ *
+ * Every invalidation moves the cache on to a new version. Nodes read by a request that was sent before an
+ * invalidation are not cached, because they may be older than the invalidation.
+ */
+public class EntityCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+
+    private final Map<String, Region> regions = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public EntityCache(MetaData metaData, DriverConfig config) {
+        for (Map.Entry<Class<?>, Long> entry : config.getCacheTimesToLive().entrySet()) {
+            ClassInfo classInfo = metaData.classInfo(entry.getKey().getName());
+            if (classInfo == null) {
+                throw new IllegalArgumentException(entry.getKey().getName() + " is not a persistable class");
+            }
+            regions.put(classInfo.label(), new Region(entry.getValue(), config.getCacheMaxEntries().get(entry.getKey()), version));
+        }
+    }
+
+    /**
+     * @param label the label of a class
+     * @return true if nodes with the label are cached
+     */
+    public boolean caches(String label) {
+        return regions.containsKey(label);
+    }
+
+    /**
+     * @param label the label of the class of the node
+     * @param id the id of the node
+     * @return a new {@link NodeModel} holding the snapshot of the node, or null if there is none or it has expired
+     */
+    public NodeModel get(String label, Long id) {
+        Region region = regions.get(label);
+        if (region == null) {
+            return null;
+        }
+        Snapshot snapshot = region.get(id);
+        if (snapshot == null) {
+            return null;
+        }
+        LOGGER.debug("serving ({}:{}) from cache", id, label);
+        NodeModel node = new NodeModel();
+        node.setId(snapshot.id);
+        node.setLabels(snapshot.labels.clone());
+        node.setProperties(snapshot.properties);
+        return node;
+    }
+
+    /**
+     * @return the current version of the cache, to be taken before a request whose nodes are to be cached is sent
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Takes snapshots of the nodes of the given graph that have labels of cached classes.
+     *
+     * @param graphModel the nodes and relationships, as read from the server
+     */
+    public void put(GraphModel graphModel) {
+        put(graphModel, version());
+    }
+
+    /**
+     * Takes snapshots of the nodes of the given graph that have labels of cached classes, unless the cache has been
+     * invalidated since the given version was taken.
+     *
+     * @param graphModel the nodes and relationships, as read from the server
+     * @param version the version of the cache when the request that read them was sent
+     */
+    public void put(GraphModel graphModel, long version) {
+        if (regions.isEmpty()) {
+            return;
+        }
+        for (NodeModel node : graphModel.getNodes()) {
+            if (node.getLabels() == null) {
+                continue;
+            }
+            for (String label : node.getLabels()) {
+                Region region = regions.get(label);
+                if (region != null) {
+                    region.put(new Snapshot(node, region.timeToLive), version);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param id the id of a node that has been saved or deleted
+     */
+    public void invalidate(Long id) {
+        for (Region region : regions.values()) {
+            region.remove(id);
+        }
+    }
+
+    /**
+     * @param label the label of the class all of whose nodes have been deleted
+     */
+    public void invalidate(String label) {
+        Region region = regions.get(label);
+        if (region != null) {
+            region.clear();
+        }
+    }
+
+    public void clear() {
+        for (Region region : regions.values()) {
+            region.clear();
+        }
+    }
+
+    private static class Region {
+
+        private final long timeToLive;
+        private final Map<Long, Snapshot> snapshots;
+        private final AtomicLong version;
+
+        Region(long timeToLive, final int maxEntries, AtomicLong version) {
+            this.timeToLive = timeToLive;
+            this.version = version;
+            this.snapshots = new LinkedHashMap<Long, Snapshot>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized Snapshot get(Long id) {
+            Snapshot snapshot = snapshots.get(id);
+            if (snapshot != null && snapshot.expires < System.currentTimeMillis()) {
+                snapshots.remove(id);
+                return null;
+            }
+            return snapshot;
+        }
+
+        // the version is checked and moved on under the lock of the region, so no stale put can follow an invalidation
+        synchronized void put(Snapshot snapshot, long readVersion) {
+            if (version.get() == readVersion) {
+                snapshots.put(snapshot.id, snapshot);
+            }
+        }
+
+        synchronized void remove(Long id) {
+            version.incrementAndGet();
+            snapshots.remove(id);
+        }
+
+        synchronized void clear() {
+            version.incrementAndGet();
+            snapshots.clear();
+        }
+    }
+
+    private static class Snapshot {
+
+        private final Long id;
+        private final String[] labels;
+        private final Map<String, Object> properties;
+        private final long expires;
+
+        Snapshot(NodeModel node, long timeToLive) {
+            this.id = node.getId();
+            this.labels = node.getLabels().clone();
+            this.properties = Collections.unmodifiableMap(node.getProperties());
+            this.expires = System.currentTimeMillis() + timeToLive;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.session.transaction.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+public class Neo4jAsyncSession implements AsyncSession {
+
+    private final Neo4jSession session;
+    private final ExecutorService executor;
+
+    // the transaction begun on this session, and the executor that runs its operations one at a time
+    private Transaction transaction;
+    private Executor transactionExecutor;
+
+    public Neo4jAsyncSession(Neo4jSession session, ExecutorService executor) {
+        this.session = session;
+        this.executor = executor;
+    }
+
+    @Override
+    public <T> Future<T> load(Class<T> type, Long id) {
+        return load(type, id, 1);
+    }
+
+    @Override
+    public <T> Future<T> load(final Class<T> type, final Long id, final int depth) {
+        return submit(new Callable<T>() {
+            @Override
+            public T call() {
+                return session.load(type, id, depth);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadAll(Class<T> type, Collection<Long> ids) {
+        return loadAll(type, ids, 1);
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final Collection<Long> ids, final int depth) {
+        return submit(new Callable<Collection<T>>() {
+            @Override
+            public Collection<T> call() {
+                return session.loadAll(type, ids, depth);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadAll(Class<T> type) {
+        return loadAll(type, 1);
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final int depth) {
+        return submit(new Callable<Collection<T>>() {
+            @Override
+            public Collection<T> call() {
+                return session.loadAll(type, depth);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadByProperty(Class<T> type, Property<String, Object> property) {
+        return loadByProperty(type, property, 1);
+    }
+
+    @Override
+    public <T> Future<Collection<T>> loadByProperty(final Class<T> type, final Property<String, Object> property, final int depth) {
+        return submit(new Callable<Collection<T>>() {
+            @Override
+            public Collection<T> call() {
+                return session.loadByProperty(type, property, depth);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<Iterable<T>> query(final Class<T> objectType, final String cypher, final Map<String, ?> parameters) {
+        return submit(new Callable<Iterable<T>>() {
+            @Override
+            public Iterable<T> call() {
+                return session.query(objectType, cypher, parameters);
+            }
+        });
+    }
+
+    @Override
+    public Future<Iterable<Map<String, Object>>> query(final String cypher, final Map<String, ?> parameters) {
+        return submit(new Callable<Iterable<Map<String, Object>>>() {
+            @Override
+            public Iterable<Map<String, Object>> call() {
+                return session.query(cypher, parameters);
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<T> save(T object) {
+        return save(object, -1);
+    }
+
+    @Override
+    public <T> Future<T> save(final T object, final int depth) {
+        return submit(new Callable<T>() {
+            @Override
+            public T call() {
+                session.save(object, depth);
+                return object;
+            }
+        });
+    }
+
+    @Override
+    public <T> Future<T> delete(final T object) {
+        return submit(new Callable<T>() {
+            @Override
+            public T call() {
+                session.delete(object);
+                return object;
+            }
+        });
+    }
+
+    @Override
+    public synchronized Transaction beginTransaction() {
+        try {
+            // the transaction is bound to this session only, not to the calling thread
+            transaction = session.inTransaction(null, new Callable<Transaction>() {
+                @Override
+                public Transaction call() {
+                    return session.beginTransaction();
+                }
+            });
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        transactionExecutor = new SerialExecutor(executor);
+        return transaction;
+    }
+
+    @Override
+    public Session session() {
+        return session;
+    }
+
+    // runs the operation in the transaction of this session if it has one open, or else in a transaction of its own
+    private synchronized <T> Future<T> submit(final Callable<T> operation) {
+        final Transaction tx = isOpen(transaction) ? transaction : null;
+        FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return session.inTransaction(tx, operation);
+            }
+        });
+        if (tx != null) {
+            transactionExecutor.execute(task);
+        } else {
+            executor.execute(task);
+        }
+        return task;
+    }
+
+    private static boolean isOpen(Transaction tx) {
+        return tx != null && (tx.status() == Transaction.Status.OPEN || tx.status() == Transaction.Status.PENDING);
+    }
+
+    /**
+     * Runs tasks on another executor one at a time, in the order they were submitted, because the server does not
+     * accept concurrent requests in the same transaction.
+     */
+    private static class SerialExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Executor executor;
+        private Runnable active;
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(final Runnable task) {
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        scheduleNext();
+                    }
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                executor.execute(active);
+            }
+        }
+    }
+}
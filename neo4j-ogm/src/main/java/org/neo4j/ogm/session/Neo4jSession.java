@@ -21,36 +21,48 @@ package org.neo4j.ogm.session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.cypher.query.GraphModelQuery;
 import org.neo4j.ogm.cypher.query.RowModelQuery;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.FieldWriter;
+import org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy;
 import org.neo4j.ogm.mapper.EntityGraphMapper;
+import org.neo4j.ogm.mapper.MappedRelationship;
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.mapper.TransientRelationship;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.AnnotationInfo;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.Property;
 import org.neo4j.ogm.session.request.DefaultRequest;
 import org.neo4j.ogm.session.request.Neo4jRequest;
 import org.neo4j.ogm.session.request.RequestHandler;
+import org.neo4j.ogm.session.request.RequestStatistics;
 import org.neo4j.ogm.session.request.SessionRequestHandler;
 import org.neo4j.ogm.session.request.strategy.AggregateStatements;
 import org.neo4j.ogm.session.request.strategy.DeleteStatements;
 import org.neo4j.ogm.session.request.strategy.VariableDepthQuery;
+import org.neo4j.ogm.session.response.ListResponse;
 import org.neo4j.ogm.session.response.Neo4jResponse;
 import org.neo4j.ogm.session.response.ResponseHandler;
 import org.neo4j.ogm.session.response.SessionResponseHandler;
 import org.neo4j.ogm.session.result.RowModel;
+import org.neo4j.ogm.session.transaction.LongTransaction;
 import org.neo4j.ogm.session.transaction.SimpleTransaction;
 import org.neo4j.ogm.session.transaction.Transaction;
 import org.neo4j.ogm.session.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -63,26 +75,59 @@ public class Neo4jSession implements Session {
     private final ObjectMapper mapper;
     private final String autoCommitUrl;
     private final TransactionManager txManager;
+    private final EntityCache entityCache;
+    private final QueryCache queryCache;
+    private final CacheInvalidator invalidator;
 
-    private Neo4jRequest<String> request;
+    private RequestHandler requestHandler;
+
+    private static final int SAVE_BATCH_SIZE = 1000;
+    private static final int BULK_SAVE_THRESHOLD = 100;
 
     private static final Pattern WRITE_CYPHER_KEYWORDS = Pattern.compile("\\b(CREATE|MERGE|SET|DELETE|REMOVE)\\b");
 
     public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper) {
+        this(metaData, url, client, mapper, new DriverConfig());
+    }
+
+    /**
+     * @param config the number of entities the session holds once an operation has completed and how it
+     *               instantiates them, how its requests are compressed, and which entities and query results it
+     *               caches, in caches of its own
+     */
+    public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, DriverConfig config) {
+        this(metaData, url, client, mapper, config, new RequestStatistics(), new EntityCache(metaData, config),
+                new QueryCache(config.getQueryCacheTimeToLive(), config.getQueryCacheMaxEntries()), new MethodHandleEntityAccessStrategy());
+    }
+
+    // the sessions of a factory share its statistics, caches and entity accessors
+    Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, DriverConfig config, RequestStatistics statistics, EntityCache entityCache, QueryCache queryCache, EntityAccessStrategy entityAccessStrategy) {
+        this(metaData, url, client, mapper, config, statistics, entityCache, queryCache, entityAccessStrategy, new TransactionManager(client, url));
+    }
+
+    private Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, DriverConfig config, RequestStatistics statistics, EntityCache entityCache, QueryCache queryCache, EntityAccessStrategy entityAccessStrategy, TransactionManager txManager) {
+        this(metaData, url, mapper, txManager, new SessionRequestHandler(
+                new DefaultRequest(client, mapper, config.isCompression(), config.getCompressionThreshold(), statistics, txManager)), config, entityCache, queryCache, entityAccessStrategy);
+    }
+
+    Neo4jSession(MetaData metaData, String url, ObjectMapper mapper, TransactionManager txManager, RequestHandler requestHandler, DriverConfig config, EntityCache entityCache, QueryCache queryCache, EntityAccessStrategy entityAccessStrategy) {
         this.metaData = metaData;
         this.mapper = mapper;
-        this.mappingContext = new MappingContext(metaData);
-        this.txManager = new TransactionManager(client, url);
+        this.mappingContext = new MappingContext(metaData, config.getMaxEntities(), config.getEntityInstantiator(), entityAccessStrategy);
+        this.entityCache = entityCache;
+        this.queryCache = queryCache;
+        this.invalidator = new CacheInvalidator(entityCache, queryCache);
+        this.txManager = txManager;
         this.autoCommitUrl = autoCommit(url);
-        this.request = new DefaultRequest(client);
+        this.requestHandler = requestHandler;
     }
 
     public void setRequest(Neo4jRequest<String> neo4jRequest) {
-        this.request=neo4jRequest;
+        this.requestHandler = new SessionRequestHandler(mapper, neo4jRequest);
     }
 
     private RequestHandler getRequestHandler() {
-        return new SessionRequestHandler(mapper, request);
+        return requestHandler;
     }
 
     private ResponseHandler getResponseHandler() {
@@ -96,13 +141,55 @@ public class Neo4jSession implements Session {
 
     @Override
     public <T> T load(Class<T> type, Long id, int depth) {
+        NodeModel cached = cached(type, id, depth);
+        if (cached != null) {
+            GraphModel graphModel = new GraphModel();
+            graphModel.setNodes(new NodeModel[] { cached });
+            synchronized (mappingContext) {
+                return getResponseHandler().loadById(type, new ListResponse<>(new String[0], Collections.singletonList(graphModel)), id);
+            }
+        }
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findOne(id, depth);
-        try (Neo4jResponse<GraphModel> response = getRequestHandler().execute(qry, url)) {
-            return getResponseHandler().loadById(type, response, id);
+        try (Neo4jResponse<GraphModel> response = executeAndCache(qry, url)) {
+            Neo4jResponse<GraphModel> records = read(response);
+            synchronized (mappingContext) {
+                return getResponseHandler().loadById(type, records, id);
+            }
         }
     }
 
+    // a node can only be loaded from the cache if the depth of the load makes no difference to its entity, and
+    // not within a transaction, which may have changed it
+    private NodeModel cached(Class<?> type, Long id, int depth) {
+        if (inTransaction()) {
+            return null;
+        }
+        ClassInfo classInfo = metaData.classInfo(type.getName());
+        if (classInfo == null || !entityCache.caches(classInfo.label())) {
+            return null;
+        }
+        if (depth != 0 && !classInfo.relationshipFields().isEmpty()) {
+            return null;
+        }
+        return entityCache.get(classInfo.label(), id);
+    }
+
+    // nodes read within a transaction are not cached, because the transaction may yet be rolled back. The version of
+    // the cache is taken before the request is sent, so that nodes invalidated while it is in flight aren't put back
+    private Neo4jResponse<GraphModel> executeAndCache(GraphModelQuery qry, String url) {
+        if (inTransaction()) {
+            return getRequestHandler().execute(qry, url);
+        }
+        long version = entityCache.version();
+        return new CachingResponse(getRequestHandler().execute(qry, url), entityCache, version);
+    }
+
+    private boolean inTransaction() {
+        Transaction tx = txManager.getCurrentTransaction();
+        return tx instanceof LongTransaction && (tx.status() == Transaction.Status.OPEN || tx.status() == Transaction.Status.PENDING);
+    }
+
     @Override
     public <T> Collection<T> loadAll(Class<T> type, Collection<Long> ids) {
         return loadAll(type, ids, 1);
@@ -112,8 +199,11 @@ public class Neo4jSession implements Session {
     public <T> Collection<T> loadAll(Class<T> type, Collection<Long> ids, int depth) {
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findAll(ids, depth);
-        try (Neo4jResponse<GraphModel> response = getRequestHandler().execute(qry, url)) {
-            return getResponseHandler().loadAll(type, response);
+        try (Neo4jResponse<GraphModel> response = executeAndCache(qry, url)) {
+            Neo4jResponse<GraphModel> records = read(response);
+            synchronized (mappingContext) {
+                return getResponseHandler().loadAll(type, records);
+            }
         }
     }
 
@@ -127,8 +217,11 @@ public class Neo4jSession implements Session {
         ClassInfo classInfo = metaData.classInfo(type.getName());
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findByLabel(classInfo.label(), depth);
-        try (Neo4jResponse<GraphModel> response = getRequestHandler().execute(qry, url)) {
-            return getResponseHandler().loadAll(type, response);
+        try (Neo4jResponse<GraphModel> response = executeAndCache(qry, url)) {
+            Neo4jResponse<GraphModel> records = read(response);
+            synchronized (mappingContext) {
+                return getResponseHandler().loadAll(type, records);
+            }
         }
     }
 
@@ -164,8 +257,11 @@ public class Neo4jSession implements Session {
         ClassInfo classInfo = metaData.classInfo(type.getName());
         String url = getOrCreateTransaction().url();
         GraphModelQuery qry = new VariableDepthQuery().findByProperty(classInfo.label(), property, depth);
-        try (Neo4jResponse<GraphModel> response = getRequestHandler().execute(qry, url)) {
-            return getResponseHandler().loadByProperty(type, response, property);
+        try (Neo4jResponse<GraphModel> response = executeAndCache(qry, url)) {
+            Neo4jResponse<GraphModel> records = read(response);
+            synchronized (mappingContext) {
+                return getResponseHandler().loadByProperty(type, records, property);
+            }
         }
     }
 
@@ -175,13 +271,30 @@ public class Neo4jSession implements Session {
         logger.info("beginTransaction() being called on thread: " + Thread.currentThread().getId());
         logger.info("Neo4jSession identity: " + this);
 
-        Transaction tx = txManager.openTransaction(mappingContext);
+        Transaction tx = txManager.openTransaction(mappingContext, invalidator.recording());
 
         logger.info("Obtained new transaction: " + tx.url() + ", tx id: " + tx);
         return tx;
     }
 
 
+    /**
+     * Runs the supplied work on the calling thread in the supplied transaction, instead of in the current transaction
+     * of the thread, which is bound again once the work is done.
+     *
+     * @param tx the transaction to run the work in, or null to run each of its requests in a transaction of its own
+     * @param work the work to run
+     * @return the result of the work
+     */
+    <T> T inTransaction(Transaction tx, Callable<T> work) throws Exception {
+        Transaction previous = txManager.bind(tx);
+        try {
+            return work.call();
+        } finally {
+            txManager.bind(previous);
+        }
+    }
+
     @Override
     public <T> T queryForObject(Class<T> type, String cypher, Map<String, ?> parameters) {
         Iterable<T> results = query(type, cypher, parameters);
@@ -211,6 +324,11 @@ public class Neo4jSession implements Session {
 
         assertReadOnly(cypher);
 
+        Iterable<Map<String, Object>> cached = (Iterable<Map<String, Object>>) queryCache.get(Map.class, cypher, parameters);
+        if (cached != null) {
+            return cached;
+        }
+
         String url = getOrCreateTransaction().url();
         RowModelQuery qry = new RowModelQuery(cypher, parameters);
         try (Neo4jResponse<RowModel> response = getRequestHandler().execute(qry, url)) {
@@ -229,6 +347,9 @@ public class Neo4jSession implements Session {
                 result.add(element);
             }
 
+            if (!inTransaction() && queryCache.isEnabled()) {
+                queryCache.put(Map.class, cypher, parameters, unmodifiableCopy(result));
+            }
             return result;
         }
     }
@@ -249,15 +370,34 @@ public class Neo4jSession implements Session {
 
         assertReadOnly(cypher);
 
-        String url = getOrCreateTransaction().url();
+        Object cached = queryCache.get(type, cypher, parameters);
 
         if (metaData.classInfo(type.getSimpleName()) != null) {
-            GraphModelQuery qry = new GraphModelQuery(cypher, parameters);
-            try (Neo4jResponse<GraphModel> response = getRequestHandler().execute(qry, url)) {
-                return getResponseHandler().loadAll(type, response);
+            // the graph is cached rather than its entities, which belong to the session that mapped them
+            List<GraphModel> graphModels = (List<GraphModel>) cached;
+            if (graphModels == null) {
+                String url = getOrCreateTransaction().url();
+                GraphModelQuery qry = new GraphModelQuery(cypher, parameters);
+                try (Neo4jResponse<GraphModel> response = executeAndCache(qry, url)) {
+                    graphModels = new ArrayList<>();
+                    GraphModel graphModel;
+                    while ((graphModel = response.next()) != null) {
+                        graphModels.add(graphModel);
+                    }
+                }
+                if (!inTransaction() && queryCache.isEnabled()) {
+                    queryCache.put(type, cypher, parameters, unmodifiableCopy(graphModels));
+                }
             }
+            synchronized (mappingContext) {
+                return getResponseHandler().loadAll(type, new ListResponse<>(new String[0], graphModels));
+            }
+        }
+        else if (cached != null) {
+            return (Iterable<T>) cached;
         }
         else {
+            String url = getOrCreateTransaction().url();
             RowModelQuery qry = new RowModelQuery(cypher, parameters);
             try (Neo4jResponse<RowModel> response = getRequestHandler().execute(qry, url)) {
 
@@ -276,11 +416,33 @@ public class Neo4jSession implements Session {
                     }
                 }
 
+                if (!inTransaction() && queryCache.isEnabled()) {
+                    queryCache.put(type, cypher, parameters, unmodifiableCopy(result));
+                }
                 return result;
             }
         }
     }
 
+    // the results held by the query cache are shared by all the sessions of a factory, so none of them may change one
+    private static Object unmodifiableCopy(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), unmodifiableCopy(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof Collection) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                copy.add(unmodifiableCopy(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
     private void assertReadOnly(String cypher) {
         Matcher matcher = WRITE_CYPHER_KEYWORDS.matcher(cypher.toUpperCase());
 
@@ -304,6 +466,8 @@ public class Neo4jSession implements Session {
         // for us using the existing execute() method.
         RowModelQuery qry = new RowModelQuery(cypher, parameters);
         getRequestHandler().execute(qry, url).close();
+        // we can't tell which nodes the statement changed
+        invalidator().statement(cypher);
     }
 
 
@@ -312,18 +476,22 @@ public class Neo4jSession implements Session {
         ParameterisedStatement parameterisedStatement = new ParameterisedStatement(statement, Utils.map());
         String url = getOrCreateTransaction().url();
         getRequestHandler().execute(parameterisedStatement, url).close();
+        invalidator().statement(statement);
     }
 
     @Override
     public void purgeDatabase() {
         String url = getOrCreateTransaction().url();
         getRequestHandler().execute(new DeleteStatements().purge(), url).close();
-        mappingContext.clear();
+        invalidator().clear();
+        clear();
     }
 
     @Override
     public void clear() {
-        mappingContext.clear();
+        synchronized (mappingContext) {
+            mappingContext.clear();
+        }
     }
 
     @Override
@@ -336,25 +504,141 @@ public class Neo4jSession implements Session {
     }
 
     private <T> void saveAll(T object, int depth) {
-        List<T> list;
-        if (object.getClass().isArray()) {
-            list = Arrays.asList(object);
-        } else {
-            list = (List<T>) object;
+        List<Object> entities = new ArrayList<>();
+        for (Object element : elements(object)) {
+            if (metaData.classInfo(element) != null) {
+                entities.add(element);
+            } else {
+                logger.info(element.getClass().getName() + " is not an instance of a persistable class");
+            }
         }
-        for (T element : list) {
-            save(element, depth);
+        // very large collections are sent in a few requests, rather than a single enormous one
+        for (int from = 0; from < entities.size(); from += SAVE_BATCH_SIZE) {
+            saveEntities(entities.subList(from, Math.min(from + SAVE_BATCH_SIZE, entities.size())), depth);
         }
     }
 
-    private <T> void deleteAll(T object) {
-        List<T> list;
-        if (object.getClass().isArray()) {
-            list = Arrays.asList(object);
+    private void saveEntities(Collection<?> entities, int depth) {
+        Transaction tx = getOrCreateTransaction();
+        // many new objects are created in bulk, by a few statements that do not grow with their number
+        boolean bulk = entities.size() >= BULK_SAVE_THRESHOLD;
+        // the statements are compiled from, and their results applied to, the mapping context, which is only
+        // locked for those steps, and not while the requests are in flight
+        CypherContext context;
+        synchronized (mappingContext) {
+            context = new EntityGraphMapper(metaData, mappingContext, bulk).map(entities, depth);
+        }
+        if (context.hasDeferredStatements() && !(tx instanceof LongTransaction)) {
+            // the statements are executed in two requests, which must take effect together
+            Transaction bulkTx = txManager.openTransaction(mappingContext, invalidator.recording());
+            try {
+                saveContext(context, bulkTx);
+                synchronized (mappingContext) {
+                    bulkTx.commit();
+                }
+            } catch (RuntimeException e) {
+                bulkTx.rollback();
+                throw e;
+            }
         } else {
-            list = (List<T>) object;
+            saveContext(context, tx);
+        }
+        invalidate(context);
+    }
+
+    // the cached properties of the nodes whose properties have been written are out of date, as are the results
+    // of queries that name the labels of those nodes or the types of the relationships written
+    private void invalidate(CypherContext context) {
+        List<Long> nodes = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Object object : context.log()) {
+            if (object instanceof MappedRelationship) {
+                names.add(((MappedRelationship) object).getRelationshipType());
+                continue;
+            }
+            if (object instanceof TransientRelationship) {
+                names.add(((TransientRelationship) object).getRelationshipType());
+                continue;
+            }
+            ClassInfo classInfo = metaData.classInfo(object);
+            if (classInfo == null) {
+                continue;
+            }
+            AnnotationInfo relationshipEntity = classInfo.annotationsInfo().get(RelationshipEntity.CLASS);
+            if (relationshipEntity != null) {
+                names.add(relationshipEntity.get(RelationshipEntity.TYPE, classInfo.name()));
+                continue;
+            }
+            names.addAll(classInfo.labels());
+            Long identity = (Long) FieldWriter.read(classInfo.getField(classInfo.identityField()), object);
+            if (identity != null) {
+                nodes.add(identity);
+            }
+        }
+        CacheInvalidator writes = invalidator();
+        writes.nodes(nodes);
+        // a save that wrote nothing invalidates nothing, rather than everything
+        if (!names.isEmpty()) {
+            writes.names(names);
         }
-        for (T element : list) {
+    }
+
+    // writes made in a transaction are invalidated again once it commits
+    private CacheInvalidator invalidator() {
+        Transaction tx = txManager.getCurrentTransaction();
+        if (inTransaction() && ((LongTransaction) tx).invalidator() != null) {
+            return ((LongTransaction) tx).invalidator();
+        }
+        return invalidator;
+    }
+
+    private void saveContext(CypherContext context, Transaction tx) {
+        updateObjects(context, context.getStatements(), tx);
+        // statements relating new nodes are executed once the ids of the new nodes are known
+        if (context.hasDeferredStatements()) {
+            updateObjects(context, context.getDeferredStatements(), tx);
+        }
+        synchronized (mappingContext) {
+            tx.append(context);
+        }
+    }
+
+    private void updateObjects(CypherContext context, List<ParameterisedStatement> statements, Transaction tx) {
+        try (Neo4jResponse<RowModel> response = getRequestHandler().execute(statements, tx.url())) {
+            Neo4jResponse<RowModel> records = read(response);
+            synchronized (mappingContext) {
+                getResponseHandler().updateObjects(context, records);
+            }
+        }
+    }
+
+    // reads a response in full, so that the mapping context need not be locked while the response is in flight
+    private static <T> Neo4jResponse<T> read(Neo4jResponse<T> response) {
+        String[] columns = response.columns();
+        List<T> records = new ArrayList<>();
+        List<String[]> recordColumns = new ArrayList<>();
+        T record;
+        while ((record = response.next()) != null) {
+            records.add(record);
+            recordColumns.add(response.columns());
+        }
+        return new ListResponse<>(columns, records, recordColumns);
+    }
+
+    private static Iterable<?> elements(Object arrayOrIterable) {
+        if (arrayOrIterable.getClass().isArray()) {
+            int length = Array.getLength(arrayOrIterable);
+            List<Object> elements = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                elements.add(Array.get(arrayOrIterable, i));
+            }
+            return elements;
+        }
+        return (Iterable<?>) arrayOrIterable;
+    }
+
+    private <T> void deleteAll(T object) {
+        for (Object element : elements(object)) {
             delete(element);
         }
     }
@@ -364,18 +648,8 @@ public class Neo4jSession implements Session {
         if (object.getClass().isArray() || Iterable.class.isAssignableFrom(object.getClass())) {
             saveAll(object, depth);
         } else {
-            ClassInfo classInfo = metaData.classInfo(object);
-            if (classInfo != null) {
-                Transaction tx = getOrCreateTransaction();
-                CypherContext context = new EntityGraphMapper(metaData, mappingContext).map(object, depth);
-                try (Neo4jResponse<String> response = getRequestHandler().execute(context.getStatements(), tx.url())) {
-                    getResponseHandler().updateObjects(context, response, mapper);
-                    Field identityField = classInfo.getField(classInfo.identityField());
-                    Long id = (Long) FieldWriter.read(identityField, object);
-                    // ensure the mapping context has the latest version of this object
-                    //mappingContext.replace(object, id);
-                    tx.append(context);
-                }
+            if (metaData.classInfo(object) != null) {
+                saveEntities(Collections.singletonList(object), depth);
             } else {
                 logger.info(object.getClass().getName() + " is not an instance of a persistable class");
             }
@@ -394,9 +668,13 @@ public class Neo4jSession implements Session {
                 if (identity != null) {
                     String url = getOrCreateTransaction().url();
                     ParameterisedStatement request = new DeleteStatements().delete(identity);
-                    try (Neo4jResponse<String> response = getRequestHandler().execute(request, url)) {
+                    getRequestHandler().execute(request, url).close();
+                    synchronized (mappingContext) {
                         mappingContext.clear(object);
                     }
+                    CacheInvalidator writes = invalidator();
+                    writes.nodes(Collections.singletonList(identity));
+                    writes.names(classInfo.labels());
                 }
             } else {
                 logger.info(object.getClass().getName() + " is not an instance of a persistable class");
@@ -410,9 +688,13 @@ public class Neo4jSession implements Session {
         if (classInfo != null) {
             String url = getOrCreateTransaction().url();
             ParameterisedStatement request = new DeleteStatements().deleteByLabel(classInfo.label());
-            try (Neo4jResponse<String> response = getRequestHandler().execute(request, url)) {
+            getRequestHandler().execute(request, url).close();
+            synchronized (mappingContext) {
                 mappingContext.clear(type);
             }
+            CacheInvalidator writes = invalidator();
+            writes.label(classInfo.label());
+            writes.names(classInfo.labels());
         } else {
             logger.info(type.getName() + " is not a persistable class");
         }
@@ -459,4 +741,48 @@ public class Neo4jSession implements Session {
 
     }
 
+    /**
+     * Takes snapshots of the nodes of cached classes as they are read.
+     */
+    private static class CachingResponse implements Neo4jResponse<GraphModel> {
+
+        private final Neo4jResponse<GraphModel> response;
+        private final EntityCache entityCache;
+        private final long version;
+
+        CachingResponse(Neo4jResponse<GraphModel> response, EntityCache entityCache, long version) {
+            this.response = response;
+            this.entityCache = entityCache;
+            this.version = version;
+        }
+
+        @Override
+        public GraphModel next() {
+            GraphModel graphModel = response.next();
+            if (graphModel != null) {
+                entityCache.put(graphModel, version);
+            }
+            return graphModel;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+
+        @Override
+        public void initialiseScan(String token) {
+            response.initialiseScan(token);
+        }
+
+        @Override
+        public String[] columns() {
+            return response.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return response.rowId();
+        }
+    }
 }
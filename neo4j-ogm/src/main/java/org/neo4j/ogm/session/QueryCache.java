@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the results of read-only queries, shared by the sessions of a {@link SessionFactory}, keyed by the
+ * Cypher of the query, its parameters and the kind of result it was mapped to.
+ *
+ * A result is held until its time to live has passed, or it is evicted as the least recently used when the cache
+ * is full, or a session of the factory writes to a label or relationship type the query names. A query that names
+ * none is invalidated by every write, and so is every query when a write names none. Writes made by other means
+ * are only guarded against by the time to live.
+ */
+public class QueryCache {
+
+    // labels and relationship types, as in (n:Person), (n:`Person`) or [:KNOWS]; map keys are included too, which
+    // is harmless, as they can only cause results to be invalidated more often than they need to be
+    private static final Pattern NAMES = Pattern.compile(":\\s*(?:`([^`]+)`|([A-Za-z_][A-Za-z0-9_]*))");
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param timeToLive how long, in milliseconds, a result is held, or 0 to hold none
+     * @param maxEntries the number of results held, or 0 to hold none
+     */
+    public QueryCache(long timeToLive, final int maxEntries) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return true if results are held at all
+     */
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxEntries > 0;
+    }
+
+    /**
+     * @param kind what the result was mapped to, such as the class of its entities
+     * @param cypher the Cypher of the query
+     * @param parameters the parameters of the query
+     * @return the result held for the query, or null if there is none
+     */
+    public synchronized Object get(Object kind, String cypher, Map<String, ?> parameters) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Key key = new Key(kind, cypher, parameters);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.result;
+    }
+
+    /**
+     * @param kind what the result was mapped to, such as the class of its entities
+     * @param cypher the Cypher of the query
+     * @param parameters the parameters of the query
+     * @param result the result of the query, which must not be changed once it is held
+     */
+    public synchronized void put(Object kind, String cypher, Map<String, ?> parameters, Object result) {
+        if (isEnabled()) {
+            entries.put(new Key(kind, cypher, parameters), new Entry(result, names(cypher), System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+    /**
+     * @param cypher a statement that has been executed
+     */
+    public void invalidate(String cypher) {
+        invalidate(names(cypher));
+    }
+
+    /**
+     * @param names the labels or relationship types that have been written to
+     */
+    public synchronized void invalidate(Collection<String> names) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (names.isEmpty()) {
+            entries.clear();
+            return;
+        }
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Set<String> read = iterator.next().names;
+            if (read.isEmpty() || !Collections.disjoint(read, names)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    static Set<String> names(String cypher) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = NAMES.matcher(cypher);
+        while (matcher.find()) {
+            names.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return names;
+    }
+
+    private static class Key {
+
+        private final Object kind;
+        private final String cypher;
+        private final Map<String, ?> parameters;
+
+        Key(Object kind, String cypher, Map<String, ?> parameters) {
+            this.kind = kind;
+            this.cypher = cypher;
+            this.parameters = new HashMap<>(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return kind.equals(key.kind) && cypher.equals(key.cypher) && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * kind.hashCode() + cypher.hashCode()) + parameters.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        private final Object result;
+        private final Set<String> names;
+        private final long expires;
+
+        Entry(Object result, Set<String> names, long expires) {
+            this.result = result;
+            this.names = names;
+            this.expires = expires;
+        }
+    }
+}
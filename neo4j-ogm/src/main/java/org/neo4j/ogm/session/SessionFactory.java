@@ -19,22 +19,131 @@
 package org.neo4j.ogm.session;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.pool.PoolStats;
+import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy;
+import org.neo4j.ogm.metadata.ClassPathScanner;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.request.RequestHandler;
+import org.neo4j.ogm.session.request.RequestStatistics;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SessionFactory {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private final CloseableHttpClient httpClient = HttpClients.createDefault();
+    private final DriverConfig config;
+    private final RequestStatistics requestStatistics = new RequestStatistics();
+    // created when they are first needed, so that a factory that only opens embedded sessions creates neither
+    private ConnectionPool connectionPool;
+    private ExecutorService executor;
     private final MetaData metaData;
+    private final EntityCache entityCache;
+    private final QueryCache queryCache;
+    // the accessors of the entities are chosen once for all the sessions
+    private final EntityAccessStrategy entityAccessStrategy = new MethodHandleEntityAccessStrategy();
 
     public SessionFactory(String... packages) {
-        this.metaData = new MetaData(packages);
+        this(new DriverConfig(), packages);
+    }
+
+    public SessionFactory(DriverConfig config, String... packages) {
+        this.metaData = new MetaData(new ClassPathScanner(config.getScanThreads()), packages);
+        this.config = config;
+        this.entityCache = new EntityCache(metaData, config);
+        this.queryCache = new QueryCache(config.getQueryCacheTimeToLive(), config.getQueryCacheMaxEntries());
     }
 
     public Session openSession(String url) {
-        return new Neo4jSession(metaData, url, httpClient, objectMapper);
+        return new Neo4jSession(metaData, url, connectionPool().httpClient(), objectMapper, config, requestStatistics, entityCache, queryCache, entityAccessStrategy);
+    }
+
+    /**
+     * Opens a session whose operations run on a thread pool shared by all the asynchronous sessions of this factory.
+     *
+     * @param url the url of the Neo4j server
+     * @return a new {@link AsyncSession}
+     */
+    public AsyncSession openAsyncSession(String url) {
+        return new Neo4jAsyncSession((Neo4jSession) openSession(url), executor());
+    }
+
+    // opens a session whose statements are run by the supplied request handler rather than sent over HTTP
+    Session openSession(String url, TransactionManager txManager, RequestHandler requestHandler) {
+        return new Neo4jSession(metaData, url, objectMapper, txManager, requestHandler, config, entityCache, queryCache, entityAccessStrategy);
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    private synchronized ConnectionPool connectionPool() {
+        if (connectionPool == null) {
+            connectionPool = new ConnectionPool(config);
+        }
+        return connectionPool;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(config.getAsyncThreads(), new ThreadFactory() {
+                private final AtomicInteger threadId = new AtomicInteger();
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "neo4j-ogm-async-" + threadId.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Reports the state of the HTTP connection pool shared by the sessions opened by this factory.
+     *
+     * @return the number of leased, pending and available connections, and the maximum size of the pool
+     */
+    public synchronized PoolStats poolStatistics() {
+        if (connectionPool == null) {
+            return new PoolStats(0, 0, 0, config.getMaxConnections());
+        }
+        return connectionPool.statistics();
+    }
+
+    /**
+     * Reports the traffic of the HTTP requests made by the sessions opened by this factory.
+     *
+     * @return the number of requests, the bytes they sent and received, and how well they were compressed
+     */
+    public RequestStatistics requestStatistics() {
+        return requestStatistics;
+    }
+
+    /**
+     * Reports how often the query results cached for the sessions opened by this factory have been used.
+     *
+     * @return the cache of query results, with its number of hits and misses
+     */
+    public QueryCache queryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Closes the HTTP connection pool and the asynchronous session thread pool. Sessions opened by this factory
+     * cannot be used afterwards.
+     */
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 
 }
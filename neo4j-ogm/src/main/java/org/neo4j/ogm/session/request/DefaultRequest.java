@@ -18,46 +18,83 @@
 
 package org.neo4j.ogm.session.request;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.session.response.JsonResponse;
-import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.Neo4jRecordResponse;
 import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class DefaultRequest implements Neo4jRequest<String> {
+import java.io.IOException;
+
+public class DefaultRequest implements JsonRequest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRequest.class);
 
     private final CloseableHttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final boolean acceptGzip;
+    private final int compressionThreshold;
+    private final RequestStatistics statistics;
+    private final TransactionManager txManager;
+
+    public DefaultRequest(CloseableHttpClient httpClient, ObjectMapper mapper) {
+        this(httpClient, mapper, false, -1, new RequestStatistics(), null);
+    }
 
-    public DefaultRequest(CloseableHttpClient httpClient) {
+    /**
+     * @param acceptGzip whether the server may gzip its responses
+     * @param compressionThreshold the request size in bytes above which requests are gzipped, or -1 to never compress them
+     * @param statistics collects the number of bytes sent and received
+     * @param txManager notified when a request opens a new transaction on the server
+     */
+    public DefaultRequest(CloseableHttpClient httpClient, ObjectMapper mapper, boolean acceptGzip, int compressionThreshold,
+                          RequestStatistics statistics, TransactionManager txManager) {
         this.httpClient = httpClient;
+        this.mapper = mapper;
+        this.acceptGzip = acceptGzip;
+        this.compressionThreshold = compressionThreshold;
+        this.statistics = statistics;
+        this.txManager = txManager;
     }
 
-    public Neo4jResponse<String> execute(String url, String cypherQuery) {
+    public Neo4jRecordResponse execute(String url, ParameterisedStatements statements) {
 
+        CloseableHttpResponse response = null;
         try {
 
-            LOGGER.info("POST " + url + ", request: " + cypherQuery);
+            LOGGER.info("POST " + url);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("request: " + mapper.writeValueAsString(statements));
+            }
 
             HttpPost request = new HttpPost(url);
-            HttpEntity entity = new StringEntity(cypherQuery,"UTF-8");
+            HttpEntity entity = requestEntity(statements);
 
             request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
             request.setHeader(new BasicHeader("Accept", "application/json;charset=UTF-8"));
+            if (acceptGzip) {
+                request.setHeader(new BasicHeader("Accept-Encoding", "gzip"));
+            }
             request.setEntity(entity);
 
-            HttpResponse response = httpClient.execute(request);
+            response = httpClient.execute(request);
 
             StatusLine statusLine = response.getStatusLine();
             HttpEntity responseEntity = response.getEntity();
@@ -71,14 +108,61 @@ public class DefaultRequest implements Neo4jRequest<String> {
                 throw new ClientProtocolException("Response contains no content");
             }
 
+            // the statements were sent to the begin endpoint, and have opened a new transaction
+            Header location = response.getFirstHeader("Location");
+            if (statusLine.getStatusCode() == HttpStatus.SC_CREATED && location != null && txManager != null) {
+                txManager.transactionOpened(location.getValue());
+            }
+
             LOGGER.info("response is OK, creating response handler");
-            return new JsonResponse(responseEntity.getContent());
+            Header encoding = responseEntity.getContentEncoding();
+            boolean gzipped = encoding != null && "gzip".equalsIgnoreCase(encoding.getValue());
+            return new JsonResponse(statistics.metered(responseEntity.getContent(), gzipped), mapper);
 
 
+        }
+        catch (JsonProcessingException jpe) {
+            release(response);
+            throw new MappingException(jpe.getLocalizedMessage());
         }
         catch (Exception e) {
+            release(response);
             System.out.println("caught response exception: " + e.getLocalizedMessage());
-            throw new ResultProcessingException("Failed to execute request: " + cypherQuery, e);
+            throw new ResultProcessingException("Failed to execute request: " + describe(statements), e);
+        }
+    }
+
+    // a response that is not handed on must give its connection back to the pool, or the pool runs dry
+    private static void release(CloseableHttpResponse response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            EntityUtils.consume(response.getEntity());
+        } catch (IOException ioe) {
+            LOGGER.warn("Failed to consume response: " + ioe.getLocalizedMessage());
+        } finally {
+            try {
+                response.close();
+            } catch (IOException ioe) {
+                LOGGER.warn("Failed to close response: " + ioe.getLocalizedMessage());
+            }
+        }
+    }
+
+    private HttpEntity requestEntity(ParameterisedStatements statements) throws IOException {
+        StatementsEntity entity = new StatementsEntity(statements, mapper);
+        if (compressionThreshold >= 0 && entity.isLargerThan(compressionThreshold)) {
+            return statistics.gzipped(entity);
+        }
+        return statistics.metered(entity);
+    }
+
+    private String describe(ParameterisedStatements statements) {
+        try {
+            return mapper.writeValueAsString(statements);
+        } catch (JsonProcessingException jpe) {
+            return jpe.getLocalizedMessage();
         }
     }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.cypher.javacompat.ExecutionEngine;
+import org.neo4j.cypher.javacompat.ExecutionResult;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.ogm.cypher.query.GraphModelQuery;
+import org.neo4j.ogm.cypher.query.RowModelQuery;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+import org.neo4j.ogm.session.response.ListResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.RowModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs statements directly against an embedded {@link GraphDatabaseService}, building the graph and row models
+ * from the Cypher results without going through HTTP or JSON.
+ *
+ * Each call runs in its own database transaction, unless a transaction has already been opened on the calling
+ * thread by the {@link org.neo4j.ogm.session.transaction.EmbeddedTransactionManager}, in which case it takes part in that one.
+ * The url passed to each method is not used.
+ *
+ * Values are returned as the JSON transport would return them: nodes and relationships in a row become maps of
+ * their properties, paths and arrays become lists, and numbers are widened or narrowed to Integer, Long or Double,
+ * so the mapping layer sees the same values whichever way the database is reached.
+ */
+public class EmbeddedRequestHandler implements RequestHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(EmbeddedRequestHandler.class);
+
+    private final GraphDatabaseService database;
+    private final ExecutionEngine executionEngine;
+    private final ObjectMapper mapper;
+
+    /**
+     * @param database the embedded database
+     * @param executionEngine the Cypher execution engine of the database, which should be shared by all the handlers
+     *                        of the database so that the plans it caches are reused
+     * @param mapper converts domain objects passed as parameters
+     */
+    public EmbeddedRequestHandler(GraphDatabaseService database, ExecutionEngine executionEngine, ObjectMapper mapper) {
+        this.database = database;
+        this.executionEngine = executionEngine;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Neo4jResponse<GraphModel> execute(GraphModelQuery query, String url) {
+        List<GraphModel> graphModels = new ArrayList<>();
+        try (Transaction tx = database.beginTx()) {
+            ExecutionResult result = execute(query);
+            for (Map<String, Object> row : result) {
+                graphModels.add(graphModel(row.values()));
+            }
+            tx.success();
+        } catch (RuntimeException e) {
+            throw new ResultProcessingException("Could not execute statement", e);
+        }
+        return new ListResponse<>(new String[0], graphModels);
+    }
+
+    @Override
+    public Neo4jResponse<RowModel> execute(RowModelQuery query, String url) {
+        List<ParameterisedStatement> list = new ArrayList<>();
+        list.add(query);
+        return execute(list, url);
+    }
+
+    @Override
+    public Neo4jResponse<RowModel> execute(ParameterisedStatement statement, String url) {
+        List<ParameterisedStatement> list = new ArrayList<>();
+        list.add(statement);
+        return execute(list, url);
+    }
+
+    /**
+     * Executes the statements in order in a single transaction. As with the transactional HTTP endpoint,
+     * the rows of each statement follow on from those of the one before.
+     */
+    @Override
+    public Neo4jResponse<RowModel> execute(List<ParameterisedStatement> statementList, String url) {
+        String[] columns = null;
+        List<String[]> rowColumns = new ArrayList<>();
+        List<RowModel> rowModels = new ArrayList<>();
+        try (Transaction tx = database.beginTx()) {
+            for (ParameterisedStatement statement : statementList) {
+                if (statement.getStatement().isEmpty()) {
+                    continue;
+                }
+                ExecutionResult result = execute(statement);
+                List<String> resultColumns = result.columns();
+                String[] statementColumns = resultColumns.toArray(new String[resultColumns.size()]);
+                if (columns == null) {
+                    columns = statementColumns;
+                }
+                for (Map<String, Object> row : result) {
+                    rowColumns.add(statementColumns);
+                    rowModels.add(rowModel(statementColumns, row));
+                }
+            }
+            tx.success();
+        } catch (RuntimeException e) {
+            throw new ResultProcessingException("Could not execute statements", e);
+        }
+        return new ListResponse<>(columns != null ? columns : new String[0], rowModels, rowColumns);
+    }
+
+    private ExecutionResult execute(ParameterisedStatement statement) {
+        logger.debug(statement.getStatement());
+        Map<String, Object> parameters = new HashMap<>();
+        for (Map.Entry<String, Object> parameter : statement.getParameters().entrySet()) {
+            parameters.put(parameter.getKey(), parameterValue(parameter.getValue()));
+        }
+        return executionEngine.execute(statement.getStatement(), parameters);
+    }
+
+    // domain objects are passed to the database in the same form they would take in a JSON request
+    private Object parameterValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            return value;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), parameterValue(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Collection) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                list.add(parameterValue(element));
+            }
+            return list;
+        }
+        if (value instanceof Object[]) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Object[]) value) {
+                list.add(parameterValue(element));
+            }
+            return list;
+        }
+        try {
+            return mapper.readValue(mapper.treeAsTokens(mapper.valueToTree(value)), Object.class);
+        } catch (Exception e) {
+            throw new ResultProcessingException("Could not convert parameter " + value, e);
+        }
+    }
+
+    private GraphModel graphModel(Collection<Object> values) {
+        Map<Long, NodeModel> nodes = new LinkedHashMap<>();
+        Map<Long, RelationshipModel> relationships = new LinkedHashMap<>();
+        for (Object value : values) {
+            collect(value, nodes, relationships);
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.values().toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(relationships.values().toArray(new RelationshipModel[relationships.size()]));
+        return graphModel;
+    }
+
+    private void collect(Object value, Map<Long, NodeModel> nodes, Map<Long, RelationshipModel> relationships) {
+        if (value instanceof Node) {
+            Node node = (Node) value;
+            if (!nodes.containsKey(node.getId())) {
+                nodes.put(node.getId(), nodeModel(node));
+            }
+        } else if (value instanceof Relationship) {
+            Relationship relationship = (Relationship) value;
+            if (!relationships.containsKey(relationship.getId())) {
+                relationships.put(relationship.getId(), relationshipModel(relationship));
+            }
+        } else if (value instanceof Iterable) {
+            // paths and collections
+            for (Object element : (Iterable<?>) value) {
+                collect(element, nodes, relationships);
+            }
+        } else if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                collect(element, nodes, relationships);
+            }
+        }
+    }
+
+    private NodeModel nodeModel(Node node) {
+        List<String> labels = new ArrayList<>();
+        for (Label label : node.getLabels()) {
+            labels.add(label.name());
+        }
+        NodeModel nodeModel = new NodeModel();
+        nodeModel.setId(node.getId());
+        nodeModel.setLabels(labels.toArray(new String[labels.size()]));
+        nodeModel.setProperties(properties(node));
+        return nodeModel;
+    }
+
+    private RelationshipModel relationshipModel(Relationship relationship) {
+        RelationshipModel relationshipModel = new RelationshipModel();
+        relationshipModel.setId(relationship.getId());
+        relationshipModel.setType(relationship.getType().name());
+        relationshipModel.setStartNode(relationship.getStartNode().getId());
+        relationshipModel.setEndNode(relationship.getEndNode().getId());
+        relationshipModel.setProperties(properties(relationship));
+        return relationshipModel;
+    }
+
+    private RowModel rowModel(String[] columns, Map<String, Object> row) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = rowValue(row.get(columns[i]));
+        }
+        return new RowModel(values);
+    }
+
+    private Object rowValue(Object value) {
+        if (value instanceof PropertyContainer) {
+            return properties((PropertyContainer) value);
+        }
+        if (value instanceof Iterable) {
+            // paths and collections
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                list.add(rowValue(element));
+            }
+            return list;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), rowValue(entry.getValue()));
+            }
+            return map;
+        }
+        return propertyValue(value);
+    }
+
+    private Map<String, Object> properties(PropertyContainer container) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String key : container.getPropertyKeys()) {
+            properties.put(key, propertyValue(container.getProperty(key)));
+        }
+        return properties;
+    }
+
+    private Object propertyValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(propertyValue(Array.get(value, i)));
+            }
+            return list;
+        }
+        if (value instanceof Long) {
+            long l = (Long) value;
+            return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE ? (Object) (int) l : value;
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        return value;
+    }
+}
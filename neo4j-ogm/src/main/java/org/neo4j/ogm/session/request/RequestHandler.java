@@ -31,7 +31,7 @@ public interface RequestHandler {
 
     Neo4jResponse<GraphModel> execute(GraphModelQuery query, String url);
     Neo4jResponse<RowModel> execute(RowModelQuery query, String url);
-    Neo4jResponse<String> execute(ParameterisedStatement statement, String url);
-    Neo4jResponse<String> execute(List<ParameterisedStatement> statementList, String url);
+    Neo4jResponse<RowModel> execute(ParameterisedStatement statement, String url);
+    Neo4jResponse<RowModel> execute(List<ParameterisedStatement> statementList, String url);
 
 }
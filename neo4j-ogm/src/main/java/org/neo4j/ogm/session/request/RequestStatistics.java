@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.request;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Counts the requests made over HTTP and the number of bytes they sent and received, both as JSON
+ * and as they went over the wire. The two only differ when compression is enabled.
+ */
+public class RequestStatistics {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong requestWireBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseWireBytes = new AtomicLong();
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getRequestWireBytes() {
+        return requestWireBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    public long getResponseWireBytes() {
+        return responseWireBytes.get();
+    }
+
+    /**
+     * @return the number of JSON bytes sent for every byte that went over the wire, 1.0 if nothing was compressed
+     */
+    public double getRequestCompressionRatio() {
+        return ratio(requestBytes.get(), requestWireBytes.get());
+    }
+
+    /**
+     * @return the number of JSON bytes received for every byte that came over the wire, 1.0 if nothing was compressed
+     */
+    public double getResponseCompressionRatio() {
+        return ratio(responseBytes.get(), responseWireBytes.get());
+    }
+
+    private static double ratio(long bytes, long wireBytes) {
+        return wireBytes == 0 ? 1.0 : (double) bytes / wireBytes;
+    }
+
+    HttpEntity metered(HttpEntity entity) {
+        requests.incrementAndGet();
+        return new HttpEntityWrapper(entity) {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                super.writeTo(new CountingOutputStream(out, requestBytes, requestWireBytes));
+            }
+        };
+    }
+
+    HttpEntity gzipped(HttpEntity entity) {
+        requests.incrementAndGet();
+        return new HttpEntityWrapper(entity) {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                // closing the gzip stream finishes it and frees its deflater, but leaves the connection open
+                try (GZIPOutputStream gzip = new GZIPOutputStream(new CountingOutputStream(out, requestWireBytes))) {
+                    super.writeTo(new CountingOutputStream(gzip, requestBytes));
+                }
+            }
+
+            @Override
+            public Header getContentEncoding() {
+                return new BasicHeader("Content-Encoding", "gzip");
+            }
+
+            @Override
+            public long getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public boolean isChunked() {
+                return true;
+            }
+        };
+    }
+
+    InputStream metered(InputStream content, boolean gzipped) throws IOException {
+        if (gzipped) {
+            return new CountingInputStream(new GZIPInputStream(new CountingInputStream(content, responseWireBytes)), responseBytes);
+        }
+        return new CountingInputStream(content, responseBytes, responseWireBytes);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong[] counters;
+
+        CountingOutputStream(OutputStream out, AtomicLong... counters) {
+            super(out);
+            this.counters = counters;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count(len);
+        }
+
+        // the http client owns the stream, so it is only flushed
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void count(long n) {
+            for (AtomicLong counter : counters) {
+                counter.addAndGet(n);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong[] counters;
+
+        CountingInputStream(InputStream in, AtomicLong... counters) {
+            super(in);
+            this.counters = counters;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) {
+            for (AtomicLong counter : counters) {
+                counter.addAndGet(n);
+            }
+        }
+    }
+}
@@ -18,18 +18,18 @@
 
 package org.neo4j.ogm.session.request;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.cypher.query.GraphModelQuery;
 import org.neo4j.ogm.cypher.query.RowModelQuery;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
-import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.response.EmptyResponse;
 import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.Neo4jRecordResponse;
 import org.neo4j.ogm.session.response.Neo4jResponse;
 import org.neo4j.ogm.session.response.RowModelResponse;
+import org.neo4j.ogm.session.response.StringRecordResponse;
 import org.neo4j.ogm.session.result.RowModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,52 +39,75 @@ import java.util.List;
 
 public class SessionRequestHandler implements RequestHandler {
 
-    private final ObjectMapper mapper;
-    private final Neo4jRequest<String> request;
+    private final JsonRequest request;
     private final Logger logger = LoggerFactory.getLogger(SessionRequestHandler.class);
 
-    public SessionRequestHandler(ObjectMapper mapper, Neo4jRequest<String> request) {
+    public SessionRequestHandler(JsonRequest request) {
         this.request = request;
-        this.mapper = mapper;
+    }
+
+    /**
+     * @param mapper binds the records of the request, which are handed out as JSON strings
+     * @param request the request to execute statements with
+     */
+    public SessionRequestHandler(ObjectMapper mapper, Neo4jRequest<String> request) {
+        this(new StringRequest(mapper, request));
     }
 
     @Override
     public Neo4jResponse<GraphModel> execute(GraphModelQuery query, String url) {
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(query);
-        Neo4jResponse<String> response = execute(list, url);
-        return new GraphModelResponse(response, mapper);
+        return new GraphModelResponse(executeStatements(list, url));
     }
 
     @Override
     public Neo4jResponse<RowModel> execute(RowModelQuery query, String url) {
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(query);
-        Neo4jResponse<String> response = execute(list, url);
-        return new RowModelResponse(response, mapper);
+        return new RowModelResponse(executeStatements(list, url));
     }
 
     @Override
-    public Neo4jResponse<String> execute(ParameterisedStatement statement, String url) {
+    public Neo4jResponse<RowModel> execute(ParameterisedStatement statement, String url) {
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(statement);
         return execute(list, url);
     }
 
     @Override
-    public Neo4jResponse<String> execute(List<ParameterisedStatement> statementList, String url) {
-        try {
-            String json = mapper.writeValueAsString(new ParameterisedStatements(statementList));
-            // ugh.
-            if (!json.contains("statement\":\"\"")) {    // not an empty statement
-                logger.debug(json);
-                return request.execute(url, json);
+    public Neo4jResponse<RowModel> execute(List<ParameterisedStatement> statementList, String url) {
+        return new RowModelResponse(executeStatements(statementList, url));
+    }
+
+    private Neo4jRecordResponse executeStatements(List<ParameterisedStatement> statementList, String url) {
+        List<ParameterisedStatement> statements = new ArrayList<>(statementList.size());
+        for (ParameterisedStatement statement : statementList) {
+            if (statement.getStatement().isEmpty()) {
+                logger.debug("empty statement, nothing to execute");
+            } else {
+                statements.add(statement);
             }
+        }
+        if (statements.isEmpty()) {
             return new EmptyResponse();
-        } catch (JsonProcessingException jpe) {
-            throw new MappingException(jpe.getLocalizedMessage());
         }
+        return request.execute(url, new ParameterisedStatements(statements));
     }
 
+    private static class StringRequest implements JsonRequest {
+
+        private final ObjectMapper mapper;
+        private final Neo4jRequest<String> request;
+
+        StringRequest(ObjectMapper mapper, Neo4jRequest<String> request) {
+            this.mapper = mapper;
+            this.request = request;
+        }
 
+        @Override
+        public Neo4jRecordResponse execute(String url, ParameterisedStatements statements) {
+            return new StringRecordResponse(request.execute(url, statements), mapper);
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.request;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An {@link org.apache.http.HttpEntity} that serialises its {@link ParameterisedStatements} directly to
+ * the connection's output stream, so the request body is never held in memory as a String.
+ *
+ * The entity is repeatable: the statements are written out again each time the request is sent.
+ */
+public class StatementsEntity extends AbstractHttpEntity {
+
+    private final ParameterisedStatements statements;
+    private final ObjectMapper mapper;
+
+    public StatementsEntity(ParameterisedStatements statements, ObjectMapper mapper) {
+        this.statements = statements;
+        this.mapper = mapper;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        // only used by clients that can't write to a stream; buffers the whole body
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // the http client owns the stream, we only flush our own buffer
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            mapper.writeValue(generator, statements);
+        } finally {
+            generator.close();
+        }
+    }
+
+    /**
+     * Determines whether the serialised statements are longer than the given number of bytes. Serialisation
+     * stops as soon as the limit is passed and nothing is kept, so this is cheap even for very large requests.
+     */
+    public boolean isLargerThan(int bytes) throws IOException {
+        try {
+            writeTo(new LimitedOutputStream(bytes));
+            return false;
+        } catch (LimitExceededException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    private static class LimitedOutputStream extends OutputStream {
+
+        private long remaining;
+
+        LimitedOutputStream(long limit) {
+            this.remaining = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            consume(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            consume(len);
+        }
+
+        private void consume(int len) throws IOException {
+            remaining -= len;
+            if (remaining < 0) {
+                throw new LimitExceededException();
+            }
+        }
+    }
+
+    private static class LimitExceededException extends IOException {
+    }
+}
@@ -18,12 +18,17 @@
 
 package org.neo4j.ogm.session.response;
 
-public class EmptyResponse implements Neo4jResponse<String> {
+public class EmptyResponse implements Neo4jRecordResponse {
     @Override
     public String next() {
         return null;
     }
 
+    @Override
+    public <R> R next(Class<R> recordType) {
+        return null;
+    }
+
     @Override
     public void close() {
     }
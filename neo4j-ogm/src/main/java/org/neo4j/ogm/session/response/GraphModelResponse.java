@@ -18,23 +18,16 @@
 
 package org.neo4j.ogm.session.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.result.GraphModelResult;
 import org.neo4j.ogm.session.result.ResultProcessingException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class GraphModelResponse implements Neo4jResponse<GraphModel> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GraphModelResponse.class);
+    private final Neo4jRecordResponse response;
 
-    private final ObjectMapper objectMapper;
-    private final Neo4jResponse<String> response;
-
-    public GraphModelResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
+    public GraphModelResponse(Neo4jRecordResponse response) {
         this.response = response;
-        this.objectMapper = mapper;
         try {
             initialiseScan("graph");
         } catch (Exception e) {
@@ -44,19 +37,8 @@ public class GraphModelResponse implements Neo4jResponse<GraphModel> {
 
     @Override
     public GraphModel next() {
-
-        String json = response.next();
-
-        if (json != null) {
-            try {
-                return objectMapper.readValue(json, GraphModelResult.class).getGraph();
-            } catch (Exception e) {
-                LOGGER.error("failed to parse: " + json);
-                throw new RuntimeException(e);
-            }
-        } else {
-            return null;
-        }
+        GraphModelResult result = response.next(GraphModelResult.class);
+        return result != null ? result.getGraph() : null;
     }
 
     @Override
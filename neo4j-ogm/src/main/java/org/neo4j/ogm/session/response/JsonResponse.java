@@ -18,70 +18,112 @@
 
 package org.neo4j.ogm.session.response;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.session.result.ResultProcessingException;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.List;
 
-public class JsonResponse implements Neo4jResponse<String> {
+/**
+ * Reads the response of the transactional Cypher endpoint in a single pass over the
+ * response stream.
+ *
+ * The parser is positioned on the first data[] array when the scan is initialised, and each
+ * call to {@link #next(Class)} binds the next record in that array directly from the stream,
+ * so no intermediate string is built for a row. When a request ran several statements, the records
+ * of each result follow on from those of the one before, and the columns are those of the result
+ * being read. Any errors reported by the server are raised as a {@link ResultProcessingException},
+ * either when the scan is initialised or when the data has been consumed.
+ */
+public class JsonResponse implements Neo4jRecordResponse {
 
-    private static final String COMMA = ",";
-    private static final String START_RECORD_TOKEN = "{\"";
-    private static final String NEXT_RECORD_TOKEN  = COMMA + START_RECORD_TOKEN;
-    private static final String ERRORS_TOKEN = "],\"errors";
-    private static final String COLUMNS_TOKEN = "{\"columns";
+    private static final String RESULTS = "results";
+    private static final String COLUMNS = "columns";
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
 
     private final InputStream results;
-    private final Scanner scanner;
-    private String scanToken = null;
-    private String[] columns;
+    private final ObjectMapper mapper;
+
+    private JsonParser parser;
+    private String[] columns = new String[0];
+    private boolean hasData;
     private int currentRow = -1;
 
-    public JsonResponse(InputStream results) {
+    public JsonResponse(InputStream results, ObjectMapper mapper) {
         this.results = results;
-        this.scanner = new Scanner(results);
+        this.mapper = mapper;
     }
 
+    /**
+     * Reads the response header and positions the stream at the first record.
+     *
+     * The token identifies the kind of record (e.g. "row", "graph") to be read. Records are bound
+     * by name, so the token is not needed to locate them in the stream.
+     *
+     * @param token the result data contents expected in each record
+     */
     public void initialiseScan(String token) {
-        this.scanToken = token;
-        this.scanner.useDelimiter(scanToken);
-        // TODO: this currently assumes only ONE data[] element in the response stream.
-        parseColumns();
+        try {
+            this.parser = mapper.getFactory().createParser(results);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ResultProcessingException("Unexpected problem! Cypher response does not start with an object", null);
+            }
+            parseHeader();
+        } catch (IOException e) {
+            throw new ResultProcessingException("Could not initialise response", e);
+        }
     }
 
+    /**
+     * Returns the next record as a JSON string, e.g. <code>{"row":[...]}</code>. Prefer {@link #next(Class)},
+     * which avoids building the string.
+     *
+     * @return the next record as a string, or null if there are no more records
+     */
     public String next() {
+        JsonNode record = next(JsonNode.class);
+        return record != null ? record.toString() : null;
+    }
+
+    /**
+     * Binds the next record in the data[] arrays directly from the response stream
+     *
+     * @param recordType the type to bind each record to, e.g. {@link org.neo4j.ogm.session.result.RowModelResult}
+     * @return the next record, or null if there are no more records
+     */
+    @Override
+    public <T> T next(Class<T> recordType) {
+        if (!hasData) {
+            return null;
+        }
         try {
-            String json = scanner.next();
-
-            while (!json.endsWith(NEXT_RECORD_TOKEN)) {
-                // the scan token may be embedded in the current response record, we need to keep parsing...
-                try {
-                    String rest = scanner.next();
-                    json = json + scanToken + rest;
-                } catch (Exception e) {
-                    break;
+            while (parser.nextToken() != JsonToken.START_OBJECT) {
+                // end of a data array: carry on with the data of the next result, if there is one
+                if (!parseNextResult()) {
+                    hasData = false;
+                    parseTrailer();
+                    return null;
                 }
             }
-
-            // will match all records except last in response
-            if (json.endsWith(NEXT_RECORD_TOKEN)) {
-                json = json.substring(0, json.length() - NEXT_RECORD_TOKEN.length());
-            } else if (json.contains(ERRORS_TOKEN)) {
-
-                json = json.substring(0, json.indexOf(ERRORS_TOKEN));
-                // todo: should check errors? they will usually not exist if we have data
-            }
-            String record = START_RECORD_TOKEN + scanToken + json;
+            T record = mapper.readValue(parser, recordType);
             currentRow++;
             return record;
-
-        } catch (Exception e) {
-            return null;
+        } catch (IOException e) {
+            throw new ResultProcessingException("Could not read next record from response", e);
         }
     }
 
     public void close() {
         try {
+            if (parser != null) {
+                parser.close();
+            }
             results.close();
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -97,37 +139,86 @@ public class JsonResponse implements Neo4jResponse<String> {
         return currentRow;
     }
 
-    private void parseColumns() {
-        String header = this.scanner.next(); // consume the header and return the columns array to the caller
+    // consumes the top-level object up to the first data[] array, reading the columns on the way
+    private void parseHeader() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (RESULTS.equals(field)) {
+                parser.nextToken();
+                if (parseResults()) {
+                    return;
+                }
+            } else if (ERRORS.equals(field)) {
+                parseErrors();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
 
-        int cp = header.indexOf(COLUMNS_TOKEN);
-        if (cp == -1) {
-            parseErrors(header);
-        } else {
-            String colStart = header.substring(cp);
-            this.columns = colStart.substring(colStart.indexOf("[") + 1, colStart.indexOf("]")).replaceAll("\"", "").split(",");
+    // reads result objects from the current token onwards, and returns true if the parser is then positioned
+    // inside a data[] array, or false once the end of the results array has been reached
+    private boolean parseResults() throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        while (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (COLUMNS.equals(field)) {
+                    parseColumns();
+                } else if (DATA.equals(field)) {
+                    hasData = true;
+                    return true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            token = parser.nextToken();
         }
+        // no more data to read: skip to the end of the results array
+        while (token != null && token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+        return false;
     }
 
-    private void parseErrors(String header) {
-        int cp = header.indexOf(ERRORS_TOKEN);
-        if (cp == -1) {
-            throw new RuntimeException("Unexpected problem! Cypher response starts: " + header + "...");
+    // consumes the rest of the current result object, after its data[] array, and moves on to the next one
+    private boolean parseNextResult() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
         }
+        parser.nextToken();
+        return parseResults();
+    }
 
-        StringBuilder sb = new StringBuilder(header);
-        String response;
-        try {
-            while ((response = scanner.next()) != null) {
-                sb.append(response);
-            }
-        } catch (Exception e) {
-            scanner.close();
+    private void parseColumns() throws IOException {
+        List<String> names = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            names.add(parser.getText());
         }
+        this.columns = names.toArray(new String[names.size()]);
+    }
 
-        //String errors = sb.substring(cp + 2);
+    // consumes the remainder of the response after the results array, checking for errors
+    private void parseTrailer() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (ERRORS.equals(field)) {
+                parseErrors();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
 
-        //errors = errors.substring(sb.indexOf("[") + 1, sb.lastIndexOf("]"));
-        throw new ResultProcessingException(sb.substring(cp + 2), null);
+    private void parseErrors() throws IOException {
+        JsonNode errors = parser.readValueAsTree();
+        if (errors != null && errors.size() > 0) {
+            throw new ResultProcessingException(errors.toString(), null);
+        }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.response;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A response whose records have already been read into memory, e.g. from an embedded database.
+ *
+ * When the records are the results of several statements, the columns of each record can be given,
+ * and the columns of the response are then those of the record being read.
+ */
+public class ListResponse<T> implements Neo4jResponse<T> {
+
+    private final String[] columns;
+    private final List<String[]> recordColumns;
+    private final Iterator<T> records;
+    private int currentRow = -1;
+
+    public ListResponse(String[] columns, List<T> records) {
+        this(columns, records, null);
+    }
+
+    /**
+     * @param columns the columns of the response until the first record is read
+     * @param records the records of the response
+     * @param recordColumns the columns of each record, or null if all records have the same columns
+     */
+    public ListResponse(String[] columns, List<T> records, List<String[]> recordColumns) {
+        this.columns = columns;
+        this.records = records.iterator();
+        this.recordColumns = recordColumns;
+    }
+
+    @Override
+    public T next() {
+        if (records.hasNext()) {
+            currentRow++;
+            return records.next();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void initialiseScan(String token) {
+    }
+
+    @Override
+    public String[] columns() {
+        if (recordColumns != null && currentRow >= 0) {
+            return recordColumns.get(currentRow);
+        }
+        return columns;
+    }
+
+    @Override
+    public int rowId() {
+        return currentRow;
+    }
+}
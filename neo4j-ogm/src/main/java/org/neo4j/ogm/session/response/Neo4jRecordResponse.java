@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.response;
+
+/**
+ * A response to a request to the transactional Cypher endpoint whose records are bound to a type as they are read.
+ */
+public interface Neo4jRecordResponse extends Neo4jResponse<String> {
+
+    /**
+     * Binds the next record, e.g. <code>{"row":[...]}</code>, to the supplied type
+     *
+     * @param recordType the type to bind each record to, e.g. {@link org.neo4j.ogm.session.result.RowModelResult}
+     * @return the next record, or null if there are no more records
+     */
+    <R> R next(Class<R> recordType);
+}
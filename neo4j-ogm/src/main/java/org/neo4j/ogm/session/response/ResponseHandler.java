@@ -18,10 +18,10 @@
 
 package org.neo4j.ogm.session.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.model.Property;
+import org.neo4j.ogm.session.result.RowModel;
 
 import java.util.Collection;
 import java.util.Set;
@@ -32,5 +32,5 @@ public interface ResponseHandler {
     <T> Collection<T> loadAll(Class<T> type, Neo4jResponse<GraphModel> stream);
     <T> Set<T> loadByProperty(Class<T> type, Neo4jResponse<GraphModel> stream, Property<String, Object> filter);
 
-    void updateObjects(CypherContext context, Neo4jResponse<String> response, ObjectMapper mapper);
+    void updateObjects(CypherContext context, Neo4jResponse<RowModel> response);
 }
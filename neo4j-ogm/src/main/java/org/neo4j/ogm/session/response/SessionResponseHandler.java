@@ -18,9 +18,9 @@
 
 package org.neo4j.ogm.session.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.cypher.compiler.MultiStatementCypherCompiler;
 import org.neo4j.ogm.entityaccess.FieldWriter;
 import org.neo4j.ogm.mapper.GraphEntityMapper;
 import org.neo4j.ogm.mapper.MappedRelationship;
@@ -62,60 +62,72 @@ public class SessionResponseHandler implements ResponseHandler {
             }
         }
         response.close();
+        mappingContext.evict();
 
         return objects;
     }
 
     @Override
-    public void updateObjects(CypherContext context, Neo4jResponse<String> response, ObjectMapper mapper) {
+    public void updateObjects(CypherContext context, Neo4jResponse<RowModel> response) {
 
-        RowModelResponse rowModelResponse = new RowModelResponse(response, mapper);
-        String[] variables = rowModelResponse.columns();
         RowModel rowModel;
 
-        Map<String, Long> directRefMap = new HashMap<>();
-
-        while ((rowModel = rowModelResponse.next()) != null) {
+        while ((rowModel = response.next()) != null) {
+            // the rows may be the results of several statements, each with its own columns
+            String[] variables = response.columns();
             Object[] results = rowModel.getValues();
 
-            for (int i = 0; i < variables.length; i++) {
-
-                String variable = variables[i];
-
-                // create the mapping between the cypher variable and the newly created domain object's
-                // identity, as returned by the database
-                Long identity = Long.parseLong(results[i].toString());
-                directRefMap.put(variable, identity);
-
-                // find the newly created domain object in the context log
-                Object persisted = context.getNewObject(variable);
-
-                if (persisted != null) {  // it will be null if the variable represents a simple relationship.
-
-                    // set the id field of the newly created domain object
-                    ClassInfo classInfo = metaData.classInfo(persisted);
-                    Field identityField = classInfo.getField(classInfo.identityField());
-                    FieldWriter.write(identityField, persisted, identity);
+            // new nodes and relationships written in bulk are returned with the variables of their rows
+            if (isBulkRow(variables)) {
+                registerIdentity(context, results[0].toString(), Long.parseLong(results[1].toString()));
+                continue;
+            }
 
-                    // ensure the newly created domain object is added into the mapping context
-                    if (classInfo.annotationsInfo().get(RelationshipEntity.CLASS) == null) {
-                        mappingContext.registerNodeEntity(persisted, identity);
-                    } else {
-                        mappingContext.registerRelationshipEntity(persisted, identity);
-                    }
-                }
+            for (int i = 0; i < variables.length; i++) {
+                registerIdentity(context, variables[i], Long.parseLong(results[i].toString()));
             }
         }
 
         // finally, all new relationships just established in the graph need to be added to the mapping context.
         for (Object object : context.log()) {
             if (object instanceof TransientRelationship) {
-                MappedRelationship relationship = (((TransientRelationship) object).convert(directRefMap));
+                MappedRelationship relationship = (((TransientRelationship) object).convert(context.identities()));
                 mappingContext.mappedRelationships().add(relationship);
             }
         }
 
-        rowModelResponse.close();
+        response.close();
+    }
+
+    private static boolean isBulkRow(String[] variables) {
+        return variables.length == 2
+                && MultiStatementCypherCompiler.REFERENCE.equals(variables[0])
+                && MultiStatementCypherCompiler.IDENTITY.equals(variables[1]);
+    }
+
+    private void registerIdentity(CypherContext context, String variable, Long identity) {
+
+        // create the mapping between the cypher variable and the newly created domain object's
+        // identity, as returned by the database
+        context.registerIdentity(variable, identity);
+
+        // find the newly created domain object in the context log
+        Object persisted = context.getNewObject(variable);
+
+        if (persisted != null) {  // it will be null if the variable represents a simple relationship.
+
+            // set the id field of the newly created domain object
+            ClassInfo classInfo = metaData.classInfo(persisted);
+            Field identityField = classInfo.getField(classInfo.identityField());
+            FieldWriter.write(identityField, persisted, identity);
+
+            // ensure the newly created domain object is added into the mapping context
+            if (classInfo.annotationsInfo().get(RelationshipEntity.CLASS) == null) {
+                mappingContext.registerNodeEntity(persisted, identity);
+            } else {
+                mappingContext.registerRelationshipEntity(persisted, identity);
+            }
+        }
     }
 
     @Override
@@ -126,7 +138,9 @@ public class SessionResponseHandler implements ResponseHandler {
             ogm.map(type, graphModel);
         }
         response.close();
-        return lookup(type, id);
+        T entity = lookup(type, id);
+        mappingContext.evict();
+        return entity;
     }
 
     private <T> T lookup(Class<T> type, Long id) {
@@ -152,6 +166,7 @@ public class SessionResponseHandler implements ResponseHandler {
             objects.addAll(ogm.map(type, graphModel));
         }
         response.close();
+        mappingContext.evict();
         return objects;
     }
 
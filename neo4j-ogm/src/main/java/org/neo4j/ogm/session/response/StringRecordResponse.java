@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binds the records of a response that hands them out as JSON strings, one string at a time.
+ */
+public class StringRecordResponse implements Neo4jRecordResponse {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StringRecordResponse.class);
+
+    private final Neo4jResponse<String> response;
+    private final ObjectMapper mapper;
+
+    public StringRecordResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
+        this.response = response;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public <R> R next(Class<R> recordType) {
+        String json = response.next();
+        if (json != null) {
+            try {
+                return mapper.readValue(json, recordType);
+            } catch (Exception e) {
+                LOGGER.error("failed to parse: " + json);
+                throw new RuntimeException(e);
+            }
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public String next() {
+        return response.next();
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    @Override
+    public void initialiseScan(String token) {
+        response.initialiseScan(token);
+    }
+
+    @Override
+    public String[] columns() {
+        return response.columns();
+    }
+
+    @Override
+    public int rowId() {
+        return response.rowId();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.session.transaction;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manages the transactions of a session that runs against an embedded {@link GraphDatabaseService}.
+ *
+ * Each transaction opened by the session is backed by a Neo4j transaction, which is bound to the calling thread.
+ * Statements executed by an {@link org.neo4j.ogm.session.request.EmbeddedRequestHandler} on that thread
+ * take part in it until it is committed or rolled back.
+ */
+public class EmbeddedTransactionManager extends TransactionManager {
+
+    private static final ThreadLocal<org.neo4j.graphdb.Transaction> transaction = new ThreadLocal<>();
+
+    private final GraphDatabaseService database;
+    private final String server;
+    private final AtomicLong transactionId = new AtomicLong();
+
+    public EmbeddedTransactionManager(GraphDatabaseService database, String server) {
+        super(null, server);
+        this.database = database;
+        this.server = server;
+    }
+
+    @Override
+    protected String newTransactionEndpointUrl() {
+        transaction.set(database.beginTx());
+        return server + "/db/data/transaction/" + transactionId.incrementAndGet();
+    }
+
+    @Override
+    protected void commitTransaction(String url) {
+        org.neo4j.graphdb.Transaction tx = currentDatabaseTransaction(url);
+        try {
+            tx.success();
+        } finally {
+            close(tx);
+        }
+    }
+
+    @Override
+    protected void rollbackTransaction(String url) {
+        org.neo4j.graphdb.Transaction tx = currentDatabaseTransaction(url);
+        try {
+            tx.failure();
+        } finally {
+            close(tx);
+        }
+    }
+
+    private org.neo4j.graphdb.Transaction currentDatabaseTransaction(String url) {
+        org.neo4j.graphdb.Transaction tx = transaction.get();
+        if (tx == null) {
+            throw new TransactionException("No embedded transaction is open for " + url + " on this thread");
+        }
+        return tx;
+    }
+
+    private void close(org.neo4j.graphdb.Transaction tx) {
+        try {
+            tx.close();
+        } finally {
+            transaction.remove();
+        }
+    }
+}
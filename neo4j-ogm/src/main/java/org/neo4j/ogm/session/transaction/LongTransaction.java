@@ -19,6 +19,7 @@
 package org.neo4j.ogm.session.transaction;
 
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.session.CacheInvalidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,15 +28,40 @@ public class LongTransaction extends SimpleTransaction {
     private final Logger logger = LoggerFactory.getLogger(LongTransaction.class);
 
     private final TransactionManager transactionRequestHandler;
+    private final CacheInvalidator invalidator;
 
     public LongTransaction(MappingContext mappingContext, String url, TransactionManager transactionRequestHandler) {
+        this(mappingContext, url, transactionRequestHandler, null);
+    }
+
+    /**
+     * @param invalidator records what the transaction writes, to be invalidated again once it commits, or null if
+     *                    nothing is cached
+     */
+    public LongTransaction(MappingContext mappingContext, String url, TransactionManager transactionRequestHandler, CacheInvalidator invalidator) {
         super(mappingContext, url);
         this.transactionRequestHandler = transactionRequestHandler;
+        this.invalidator = invalidator;
+    }
+
+    /**
+     * @return the invalidator that records what this transaction writes, or null if nothing is cached
+     */
+    public CacheInvalidator invalidator() {
+        return invalidator;
+    }
+
+    void opened(String url) {
+        url(url);
     }
 
     public void commit() {
         transactionRequestHandler.commit(this);
         super.commit();
+        // other sessions may have cached what was committed before while this transaction was open
+        if (invalidator != null) {
+            invalidator.replay();
+        }
     }
 
 
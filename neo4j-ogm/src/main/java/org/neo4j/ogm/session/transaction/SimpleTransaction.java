@@ -32,7 +32,7 @@ public class SimpleTransaction implements Transaction {
 
     private final Logger logger = LoggerFactory.getLogger(Transaction.class);
     private final MappingContext mappingContext;
-    private final String url;
+    private String url;
     private final boolean autocommit;
 
     private final List<CypherContext> contexts;
@@ -63,6 +63,10 @@ public class SimpleTransaction implements Transaction {
         return url;
     }
 
+    protected final void url(String url) {
+        this.url = url;
+    }
+
     public void rollback() {
         logger.info("rollback invoked");
         if (status == Status.OPEN || status == Status.PENDING) {
@@ -91,7 +95,14 @@ public class SimpleTransaction implements Transaction {
         status = Status.CLOSED;
     }
 
+    // the mapping context may be used by other threads of an asynchronous session at the same time
     private void synchroniseSession()  {
+        synchronized (mappingContext) {
+            synchroniseMappingContext();
+        }
+    }
+
+    private void synchroniseMappingContext() {
 
         for (CypherContext cypherContext : contexts) {
 
@@ -122,6 +133,7 @@ public class SimpleTransaction implements Transaction {
         }
 
         contexts.clear();
+        mappingContext.evict();
     }
 
 
@@ -18,7 +18,6 @@
 
 package org.neo4j.ogm.session.transaction;
 
-import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
@@ -31,6 +30,7 @@ import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.session.CacheInvalidator;
 import org.neo4j.ogm.session.result.ResultProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,33 +50,75 @@ public class TransactionManager {
     }
 
     public Transaction openTransaction(MappingContext mappingContext) {
+        return openTransaction(mappingContext, null);
+    }
+
+    /**
+     * @param mappingContext the mapping context of the session the transaction belongs to
+     * @param invalidator records what the transaction writes, to be invalidated again once it commits, or null if
+     *                    nothing is cached
+     * @return the new transaction, which is the current transaction of this thread
+     */
+    public Transaction openTransaction(MappingContext mappingContext, CacheInvalidator invalidator) {
         String transactionEndpoint = newTransactionEndpointUrl();
         logger.info("Creating new transaction with endpoint " + transactionEndpoint);
-        transaction.set(new LongTransaction(mappingContext, transactionEndpoint, this));
+        transaction.set(new LongTransaction(mappingContext, transactionEndpoint, this, invalidator));
         return transaction.get();
     }
 
+    /**
+     * Called when the first request made in the current transaction has begun it on the server.
+     *
+     * @param location the endpoint of the transaction, as returned by the server
+     */
+    public void transactionOpened(String location) {
+        Transaction tx = transaction.get();
+        if (tx instanceof LongTransaction && !isOpen(tx)) {
+            logger.info("Transaction opened with endpoint " + location);
+            ((LongTransaction) tx).opened(location);
+        }
+    }
+
     public void rollback(Transaction tx) {
-        String url = tx.url();
-        logger.info("DELETE " + url);
-        HttpDelete request = new HttpDelete(url);
-        executeRequest(request);
+        if (isOpen(tx)) {
+            rollbackTransaction(tx.url());
+        }
         transaction.remove();
     }
 
     public void commit(Transaction tx) {
-        String url = tx.url() + "/commit";
-        logger.info("POST " + url);
-        HttpPost request = new HttpPost(url);
-        request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
-        executeRequest(request);
+        if (isOpen(tx)) {
+            commitTransaction(tx.url());
+        }
         transaction.remove();
     }
 
+    // a transaction that has made no requests does not exist on the server, so there is nothing to commit or roll back
+    private boolean isOpen(Transaction tx) {
+        return url == null || !url.equals(tx.url());
+    }
+
     public Transaction getCurrentTransaction() {
         return transaction.get();
     }
 
+    /**
+     * Makes the supplied transaction the current transaction of this thread, so that a transaction can be handed
+     * explicitly to work that runs on another thread than the one it was begun on.
+     *
+     * @param tx the transaction to make current, or null to leave this thread without one
+     * @return the transaction that was current before, so that it can be bound again once the work is done
+     */
+    public Transaction bind(Transaction tx) {
+        Transaction previous = transaction.get();
+        if (tx == null) {
+            transaction.remove();
+        } else {
+            transaction.set(tx);
+        }
+        return previous;
+    }
+
     private HttpResponse executeRequest(HttpRequestBase request) {
         try {
 
@@ -114,13 +156,28 @@ public class TransactionManager {
         }
     }
 
-    private String newTransactionEndpointUrl() {
+    protected void rollbackTransaction(String url) {
+        logger.info("DELETE " + url);
+        HttpDelete request = new HttpDelete(url);
+        executeRequest(request);
+    }
+
+    protected void commitTransaction(String url) {
+        url = url + "/commit";
         logger.info("POST " + url);
         HttpPost request = new HttpPost(url);
         request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
-        HttpResponse response = executeRequest(request);
-        Header location = response.getHeaders("Location")[0];
-        return location.getValue();
+        executeRequest(request);
+    }
+
+    /**
+     * New transactions are opened lazily: their first statements are sent to the begin endpoint, which opens
+     * the transaction in the same request, and the endpoint of the transaction is taken from the response.
+     *
+     * @return the endpoint that the first request of a new transaction is sent to
+     */
+    protected String newTransactionEndpointUrl() {
+        return url;
     }
 
     private String transactionRequestEndpoint(String server) {
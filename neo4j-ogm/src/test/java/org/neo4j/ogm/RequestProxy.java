@@ -18,6 +18,7 @@
 
 package org.neo4j.ogm;
 
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
 import org.neo4j.ogm.session.request.Neo4jRequest;
 import org.neo4j.ogm.session.response.Neo4jResponse;
 
@@ -25,7 +26,7 @@ public abstract class RequestProxy implements Neo4jRequest<String> {
 
     protected abstract String[] getResponse();
 
-    public Neo4jResponse<String> execute(String url, String request) {
+    public Neo4jResponse<String> execute(String url, ParameterisedStatements request) {
         return new Response(getResponse());
     }
 
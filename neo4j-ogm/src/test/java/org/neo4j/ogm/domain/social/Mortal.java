@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.domain.social;
+
+import org.neo4j.ogm.annotation.Property;
+
+/**
+ * POJO whose annotated property is read through its getter, which names the property differently.
+ *
+ * The getter is matched to the field's property without regard to case, and its own annotation then takes precedence.
+ */
+public class Mortal {
+
+    private Long id;
+
+    @Property(name="given_name")
+    private String givenName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Property(name="GIVEN_NAME")
+    public String getGivenName() {
+        return givenName;
+    }
+
+    @Property(name="GIVEN_NAME")
+    public void setGivenName(String givenName) {
+        this.givenName = givenName;
+    }
+}
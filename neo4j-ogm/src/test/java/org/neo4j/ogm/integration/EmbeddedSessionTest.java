@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.integration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.ogm.domain.bike.Bike;
+import org.neo4j.ogm.domain.bike.Frame;
+import org.neo4j.ogm.domain.bike.Saddle;
+import org.neo4j.ogm.domain.bike.Wheel;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.EmbeddedSessionFactory;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs a session against an embedded database, without a server.
+ */
+public class EmbeddedSessionTest {
+
+    private GraphDatabaseService database;
+    private Session session;
+
+    @Before
+    public void init() {
+        database = new TestGraphDatabaseFactory().newImpermanentDatabase();
+        session = new EmbeddedSessionFactory(database, "org.neo4j.ogm.domain.bike").openSession();
+    }
+
+    @After
+    public void shutdown() {
+        database.shutdown();
+    }
+
+    @Test
+    public void shouldSaveAndLoadObjectTree() {
+        Bike bike = bike("Huffy");
+        session.save(bike);
+
+        assertNotNull(bike.getId());
+        assertNotNull(bike.getFrame().getId());
+        assertNotNull(bike.getSaddle().getId());
+
+        session.clear();
+
+        Bike loaded = session.load(Bike.class, bike.getId());
+        assertEquals("Huffy", loaded.getBrand());
+        assertEquals(2, loaded.getWheels().size());
+        assertEquals(bike.getSaddle().getId(), loaded.getSaddle().getId());
+    }
+
+    @Test
+    public void shouldQueryScalarsAndRows() {
+        session.save(bike("Huffy"));
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("brand", "Huffy");
+
+        int count = session.queryForObject(Integer.class, "MATCH (bike:Bike{brand:{brand}})-->(w:Wheel) RETURN COUNT(w)", parameters);
+        assertEquals(2, count);
+
+        Map<String, Object> row = session.query("MATCH (bike:Bike{brand:{brand}}) RETURN bike.brand AS brand", parameters).iterator().next();
+        assertEquals("Huffy", row.get("brand"));
+
+        assertEquals(1, session.countEntitiesOfType(Bike.class));
+    }
+
+    @Test
+    public void shouldRollbackExplicitTransaction() {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(bike("Huffy"));
+            assertEquals(1, session.countEntitiesOfType(Bike.class));
+            tx.rollback();
+        }
+        assertEquals(0, session.countEntitiesOfType(Bike.class));
+    }
+
+    @Test
+    public void shouldCommitExplicitTransaction() {
+        Bike bike = bike("Huffy");
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(bike);
+            tx.commit();
+        }
+        assertEquals(1, session.countEntitiesOfType(Bike.class));
+
+        session.delete(bike);
+        assertEquals(0, session.countEntitiesOfType(Bike.class));
+    }
+
+    private Bike bike(String brand) {
+        Bike bike = new Bike();
+        bike.setBrand(brand);
+        bike.setFrame(new Frame());
+        bike.setSaddle(new Saddle());
+        bike.setWheels(Arrays.asList(new Wheel(), new Wheel()));
+        return bike;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package org.neo4j.ogm.unit.entityaccess;
+
+import org.junit.Test;
+import org.neo4j.ogm.entityaccess.EntityAccess;
+import org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.PropertyReader;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.DomainInfo;
+import org.neo4j.ogm.unit.entityaccess.DefaultEntityAccessStrategyTest.DummyDomainObject;
+
+import static org.junit.Assert.*;
+
+public class MethodHandleEntityAccessStrategyTest {
+
+    private MethodHandleEntityAccessStrategy entityAccessStrategy = new MethodHandleEntityAccessStrategy();
+    private DomainInfo domainInfo = new DomainInfo("org.neo4j.ogm.unit.entityaccess",
+            "org.neo4j.ogm.domain.forum", "org.neo4j.ogm.domain.satellites");
+
+    @Test
+    public void shouldWriteThroughTheSameAccessorsAsTheDefaultStrategy() {
+        ClassInfo classInfo = this.domainInfo.getClass(DummyDomainObject.class.getName());
+        DummyDomainObject domainObject = new DummyDomainObject();
+
+        this.entityAccessStrategy.getPropertyWriter(classInfo, "testAnnoProp").write(domainObject, "Arbitrary Value");
+        assertEquals("Arbitrary Value", domainObject.fullyAnnotatedProperty);
+        assertTrue("The accessor method wasn't used to set the value", domainObject.fullyAnnotatedPropertyAccessorWasCalled);
+
+        this.entityAccessStrategy.getPropertyWriter(classInfo, "testProp").write(domainObject, "TEST");
+        assertEquals("TEST", domainObject.annotatedTestProperty);
+
+        this.entityAccessStrategy.getPropertyWriter(classInfo, "propertyWithoutAccessorMethods").write(domainObject, 9);
+        assertEquals(9, domainObject.propertyWithoutAccessorMethods);
+    }
+
+    @Test
+    public void shouldReadThroughTheSameAccessorsAsTheDefaultStrategy() {
+        ClassInfo classInfo = this.domainInfo.getClass(DummyDomainObject.class.getName());
+        DummyDomainObject domainObject = new DummyDomainObject();
+        domainObject.setId(42L);
+        domainObject.annotatedTestProperty = "TEST";
+
+        assertEquals(42L, this.entityAccessStrategy.getIdentityPropertyReader(classInfo).read(domainObject));
+        assertEquals("TEST", this.entityAccessStrategy.getPropertyReader(classInfo, "testProp").read(domainObject));
+    }
+
+    @Test
+    public void shouldChooseEachAccessorOnlyOnce() {
+        ClassInfo classInfo = this.domainInfo.getClass(DummyDomainObject.class.getName());
+
+        EntityAccess writer = this.entityAccessStrategy.getPropertyWriter(classInfo, "testProp");
+        assertSame(writer, this.entityAccessStrategy.getPropertyWriter(classInfo, "testProp"));
+
+        PropertyReader reader = this.entityAccessStrategy.getIdentityPropertyReader(classInfo);
+        assertSame(reader, this.entityAccessStrategy.getIdentityPropertyReader(classInfo));
+
+        assertSame(this.entityAccessStrategy.getPropertyReaders(classInfo), this.entityAccessStrategy.getPropertyReaders(classInfo));
+
+        assertNull(this.entityAccessStrategy.getPropertyWriter(classInfo, "missing"));
+        assertNull(this.entityAccessStrategy.getPropertyWriter(classInfo, "missing"));
+    }
+}
@@ -18,18 +18,25 @@
 
 package org.neo4j.ogm.unit.entityaccess;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.neo4j.ogm.domain.canonical.ArbitraryRelationshipEntity;
 import org.neo4j.ogm.domain.social.Individual;
+import org.neo4j.ogm.entityaccess.DefaultEntityInstantiator;
 import org.neo4j.ogm.entityaccess.EntityFactory;
+import org.neo4j.ogm.entityaccess.EntityInstantiator;
 import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.RelationshipModel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class ObjectFactoryTest {
 
     private EntityFactory objectCreator;
@@ -84,4 +91,25 @@ public class ObjectFactoryTest {
         this.objectCreator.newObject(vertex);
     }
 
+    @Test
+    public void shouldCreateObjectsWithTheConfiguredInstantiator() {
+        final List<Class<?>> instantiated = new ArrayList<>();
+        EntityFactory entityFactory = new EntityFactory(new MetaData("org.neo4j.ogm.domain.social"), new EntityInstantiator() {
+            @Override
+            public <T> T createInstance(Class<T> type) {
+                instantiated.add(type);
+                return new DefaultEntityInstantiator().createInstance(type);
+            }
+        });
+
+        NodeModel personNodeModel = new NodeModel();
+        personNodeModel.setLabels(new String[] {"Female", "Individual", "Lass"});
+        Individual first = entityFactory.newObject(personNodeModel);
+        Individual second = entityFactory.newObject(personNodeModel);
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(Arrays.<Class<?>>asList(Individual.class, Individual.class), instantiated);
+    }
+
 }
@@ -103,6 +103,21 @@ public class EntityGraphMapperTest {
         executeStatementsAndAssertSameGraph(cypher, "CREATE (:Student:DomainObject {name:\"Gary\"})");
     }
 
+    @Test
+    public void createCollectionOfObjectsInOneStatement() {
+
+        Student gary = new Student("Gary");
+        Student sheila = new Student("Sheila");
+        ParameterisedStatements cypher = new ParameterisedStatements(this.mapper.map(Arrays.asList(gary, sheila), -1).getStatements());
+
+        assertEquals(1, cypher.getStatements().size());
+
+        expect( "CREATE (_0:`Student`:`DomainObject`{_0_props}), (_1:`Student`:`DomainObject`{_1_props}) " +
+                "RETURN id(_0) AS _0, id(_1) AS _1", cypher);
+
+        executeStatementsAndAssertSameGraph(cypher, "CREATE (:Student:DomainObject {name:\"Gary\"}), (:Student:DomainObject {name:\"Sheila\"})");
+    }
+
     @Test
     public void updateObjectPropertyAndLabel() {
 
@@ -114,7 +129,8 @@ public class EntityGraphMapperTest {
 
         mappingContext.remember(sheila);
 
-        String sheilaNode = var(sid);
+        // existing nodes are named in the order they are reached, not by their ids
+        String sheilaNode = "$0";
 
         // now update the object's properties locally
         sheila.setName("Sheila Smythe-Jones");
@@ -122,7 +138,7 @@ public class EntityGraphMapperTest {
         ParameterisedStatements cypher = new ParameterisedStatements(this.mapper.map(sheila).getStatements());
 
         expect( "MATCH (" + sheilaNode + ") " +
-                "WHERE id(" + sheilaNode + ")=" + sid + " " +
+                "WHERE id(" + sheilaNode + ")={" + sheilaNode + "} " +
                 "SET " + sheilaNode + ":`Student`:`DomainObject`, " + sheilaNode + "+={" + sheilaNode + "_props}", cypher);
 
         executeStatementsAndAssertSameGraph(cypher, "CREATE (s:DomainObject:Student {name:'Sheila Smythe-Jones'})");
@@ -870,8 +886,4 @@ public class EntityGraphMapperTest {
         assertEquals(expected, cypher.getStatements().get(0).getStatement());
     }
 
-    private String var(Long nodeId) {
-        return "$" + nodeId;
-    }
-
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.mapper;
+
+import org.junit.Test;
+import org.neo4j.ogm.mapper.EntityRegister;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntityRegisterTest {
+
+    @Test
+    public void shouldKeepTheFirstEntityRegisteredWithAnId() {
+        EntityRegister register = new EntityRegister();
+        Object first = new Object();
+
+        assertSame(first, register.register(1L, first));
+        assertSame(first, register.register(1L, new Object()));
+        assertSame(first, register.get(1L));
+        assertNull(register.get(2L));
+        assertEquals(1, register.size());
+    }
+
+    @Test
+    public void shouldFindEntitiesAfterOthersHaveBeenRemoved() {
+        EntityRegister register = new EntityRegister();
+        int count = 10000;
+
+        for (long id = 0; id < count; id++) {
+            register.register(id, id);
+        }
+        for (long id = 0; id < count; id += 2) {
+            assertEquals(id, register.remove(id));
+        }
+
+        assertEquals(count / 2, register.size());
+        for (long id = 0; id < count; id++) {
+            if (id % 2 == 0) {
+                assertNull(register.get(id));
+            } else {
+                assertEquals(id, register.get(id));
+            }
+        }
+    }
+
+    @Test
+    public void shouldUseLessHeapPerEntityThanAConcurrentHashMap() {
+        int count = 200000;
+        Object[] entities = new Object[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = new Object();
+        }
+
+        long before = usedHeap();
+        Map<Long, Object> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put((long) i + Integer.MAX_VALUE, entities[i]);
+        }
+        long mapBytes = usedHeap() - before;
+        assertEquals(count, map.size());
+        map = null;
+
+        before = usedHeap();
+        EntityRegister register = new EntityRegister();
+        for (int i = 0; i < count; i++) {
+            register.register((long) i + Integer.MAX_VALUE, entities[i]);
+        }
+        long registerBytes = usedHeap() - before;
+        assertEquals(count, register.size());
+
+        assertTrue("EntityRegister used " + registerBytes + " bytes, ConcurrentHashMap " + mapBytes, registerBytes < mapBytes);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
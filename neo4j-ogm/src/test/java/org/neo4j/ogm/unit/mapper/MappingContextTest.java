@@ -84,6 +84,67 @@ public class MappingContextTest {
 
     }
 
+    @Test
+    public void evictOldestWhenBounded() {
+
+        MappingContext bounded = new MappingContext(new MetaData("org.neo4j.ogm.domain.policy"), 2);
+
+        Person jim = new Person("jim");
+        jim.setId(1L);
+
+        Policy healthcare = new Policy("healthcare");
+        healthcare.setId(2L);
+
+        Policy immigration = new Policy("immigration");
+        immigration.setId(3L);
+
+        bounded.registerNodeEntity(jim, jim.getId());
+        bounded.registerNodeEntity(healthcare, healthcare.getId());
+        bounded.registerNodeEntity(immigration, immigration.getId());
+        bounded.remember(jim);
+        bounded.registerRelationship(new MappedRelationship(jim.getId(), "INFLUENCES", healthcare.getId()));
+
+        assertEquals(jim, bounded.get(jim.getId()));
+
+        bounded.evict();
+
+        assertEquals(null, bounded.get(jim.getId()));
+        assertEquals(healthcare, bounded.get(healthcare.getId()));
+        assertEquals(immigration, bounded.get(immigration.getId()));
+        assertEquals(0, bounded.getAll(Person.class).size());
+        assertTrue(bounded.isDirty(jim));
+        assertEquals(0, bounded.mappedRelationships().size());
+
+    }
+
+    @Test
+    public void evictInTheOrderEntitiesWereLastRegistered() {
+
+        MappingContext bounded = new MappingContext(new MetaData("org.neo4j.ogm.domain.policy"), 2);
+
+        Person jim = new Person("jim");
+        jim.setId(1L);
+
+        Policy healthcare = new Policy("healthcare");
+        healthcare.setId(2L);
+
+        Policy immigration = new Policy("immigration");
+        immigration.setId(3L);
+
+        bounded.registerNodeEntity(jim, jim.getId());
+        bounded.registerNodeEntity(healthcare, healthcare.getId());
+        bounded.clear(jim);
+        bounded.registerNodeEntity(jim, jim.getId());
+        bounded.registerNodeEntity(immigration, immigration.getId());
+
+        bounded.evict();
+
+        assertEquals(jim, bounded.get(jim.getId()));
+        assertEquals(null, bounded.get(healthcare.getId()));
+        assertEquals(immigration, bounded.get(immigration.getId()));
+
+    }
+
     @Test
     public void clearType() {
         Person jim = new Person("jim");
@@ -25,7 +25,11 @@ import org.neo4j.ogm.mapper.EntityMemo;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ObjectMemoTest {
@@ -75,6 +79,19 @@ public class ObjectMemoTest {
         assertTrue(objectMemo.remembered(teacher, classInfo));
     }
 
+    @Test
+    public void testChangedPropertiesDetected() {
+
+        ClassInfo classInfo = metaData.classInfo(Teacher.class.getName());
+        Teacher teacher = new Teacher("Miss White");
 
+        assertNull(objectMemo.changedProperties(teacher, classInfo));
+
+        objectMemo.remember(teacher, classInfo);
+        assertTrue(objectMemo.changedProperties(teacher, classInfo).isEmpty());
+
+        teacher.setName("Mrs Jones");
+        assertEquals(Collections.singleton("name"), objectMemo.changedProperties(teacher, classInfo));
+    }
 
 }
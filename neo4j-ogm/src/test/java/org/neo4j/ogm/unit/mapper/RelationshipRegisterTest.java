@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.mapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegister;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RelationshipRegisterTest {
+
+    private RelationshipRegister register;
+
+    @Before
+    public void setUp() {
+        register = new RelationshipRegister();
+        register.add(new MappedRelationship(1L, "INFLUENCES", 2L));
+        register.add(new MappedRelationship(1L, "WRITES", 2L));
+        register.add(new MappedRelationship(1L, "INFLUENCES", 3L));
+        register.add(new MappedRelationship(3L, "INFLUENCES", 1L));
+        register.add(new MappedRelationship(4L, "INFLUENCES", 4L));
+    }
+
+    @Test
+    public void shouldFindRelationshipsByNodeAndType() {
+        assertEquals(2, register.outgoing(1L, "INFLUENCES").size());
+        assertEquals(1, register.outgoing(1L, "WRITES").size());
+        assertEquals(1, register.incoming(1L, "INFLUENCES").size());
+        assertEquals(0, register.incoming(1L, "WRITES").size());
+        assertEquals(0, register.outgoing(2L, "INFLUENCES").size());
+    }
+
+    @Test
+    public void shouldFindAllRelationshipsOfANodeOnce() {
+        assertEquals(4, register.relationshipsOf(1L).size());
+        assertEquals(1, register.relationshipsOf(4L).size());
+    }
+
+    @Test
+    public void shouldRemoveRelationshipsOfANode() {
+        register.removeRelationshipsOf(1L);
+
+        assertEquals(1, register.size());
+        assertTrue(register.contains(new MappedRelationship(4L, "INFLUENCES", 4L)));
+        assertEquals(0, register.incoming(2L, "INFLUENCES").size());
+        assertEquals(0, register.relationshipsOf(3L).size());
+    }
+
+    @Test
+    public void shouldKeepTheIndexUpToDateWhenRemovingThroughTheIterator() {
+        Iterator<MappedRelationship> iterator = register.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getRelationshipType().equals("INFLUENCES")) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(1, register.size());
+        assertEquals(0, register.outgoing(1L, "INFLUENCES").size());
+        assertEquals(1, register.relationshipsOf(2L).size());
+        assertFalse(register.remove(new MappedRelationship(4L, "INFLUENCES", 4L)));
+    }
+}
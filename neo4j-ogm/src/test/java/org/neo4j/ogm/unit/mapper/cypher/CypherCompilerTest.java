@@ -22,6 +22,11 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.cypher.compiler.MultiStatementCypherCompiler;
+import org.neo4j.ogm.cypher.compiler.NodeBuilder;
+import org.neo4j.ogm.cypher.compiler.RelationshipBuilder;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
 import org.neo4j.ogm.domain.education.Course;
 import org.neo4j.ogm.domain.education.School;
@@ -30,6 +35,8 @@ import org.neo4j.ogm.domain.education.Teacher;
 import org.neo4j.ogm.domain.forum.Forum;
 import org.neo4j.ogm.domain.forum.ForumTopicLink;
 import org.neo4j.ogm.domain.forum.Topic;
+import org.neo4j.ogm.domain.social.Individual;
+import org.neo4j.ogm.domain.social.Mortal;
 import org.neo4j.ogm.mapper.EntityGraphMapper;
 import org.neo4j.ogm.mapper.EntityToGraphMapper;
 import org.neo4j.ogm.mapper.MappedRelationship;
@@ -39,6 +46,10 @@ import org.neo4j.ogm.metadata.MetaData;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -90,16 +101,99 @@ public class CypherCompilerTest {
         sheila.setId(sid);
         mappingContext.remember(sheila);
 
-        String sheilaNode = var(sid);
+        // existing nodes are named in the order they are reached, not by their ids
+        String sheilaNode = "$0";
 
         // now update the object's properties locally
         sheila.setName("Sheila Smythe-Jones");
 
         expectOnSave(sheila, "MATCH (" + sheilaNode + ") " +
-                "WHERE id(" + sheilaNode + ")=" + sid + " " +
+                "WHERE id(" + sheilaNode + ")={" + sheilaNode + "} " +
                 "SET " + sheilaNode + ":`Student`:`DomainObject`, " + sheilaNode + "+={" + sheilaNode + "_props}");
     }
 
+    @Test
+    public void shouldOnlySetThePropertiesThatHaveChanged() {
+
+        Individual individual = new Individual();
+        individual.setId(0L);
+        individual.setName("Jeff");
+        individual.setAge(41);
+        mappingContext.remember(individual);
+
+        individual.setAge(42);
+
+        ParameterisedStatement statement = this.mapper.map(individual).getStatements().get(0);
+        assertEquals("MATCH ($0) WHERE id($0)={$0} SET $0:`Individual`, $0+={$0_props}", statement.getStatement());
+        assertEquals(Collections.singletonMap("age", 42), statement.getParameters().get("$0_props"));
+    }
+
+    @Test
+    public void shouldRemovePropertiesThatHaveBecomeNull() {
+
+        Individual individual = new Individual();
+        individual.setId(0L);
+        individual.setName("Jeff");
+        mappingContext.remember(individual);
+
+        individual.setName(null);
+
+        expectOnSave(individual, "MATCH ($0) WHERE id($0)={$0} SET $0:`Individual` REMOVE $0.`name`");
+    }
+
+    @Test
+    public void shouldSetAChangedPropertyThatIsReadThroughItsGetter() {
+
+        Mortal mortal = new Mortal();
+        mortal.setId(0L);
+        mortal.setGivenName("Jeff");
+        mappingContext.remember(mortal);
+
+        mortal.setGivenName("Geoff");
+
+        ParameterisedStatement statement = this.mapper.map(mortal).getStatements().get(0);
+        assertEquals("MATCH ($0) WHERE id($0)={$0} SET $0:`Mortal`, $0+={$0_props}", statement.getStatement());
+        assertEquals(Collections.singletonMap("GIVEN_NAME", "Geoff"), statement.getParameters().get("$0_props"));
+    }
+
+    @Test
+    public void shouldCompileTheSameStatementForObjectsOfTheSameShape() {
+
+        School hillsRoad = new School("Hills Road Sixth Form College");
+        hillsRoad.setId(3L);
+        Teacher mrWhite = new Teacher("Mr White");
+        mrWhite.setId(5L);
+
+        School waller = new School("Waller");
+        waller.setId(11L);
+        Teacher missJones = new Teacher("Miss Jones");
+        missJones.setId(17L);
+
+        mappingContext.remember(hillsRoad);
+        mappingContext.remember(mrWhite);
+        mappingContext.remember(waller);
+        mappingContext.remember(missJones);
+
+        // update each teacher and relate them to their schools
+        mrWhite.setName("Walter White");
+        mrWhite.setSchool(hillsRoad);
+        missJones.setName("Jessica Jones");
+        missJones.setSchool(waller);
+
+        ParameterisedStatement white = this.mapper.map(mrWhite).getStatements().get(0);
+        ParameterisedStatement jones = this.mapper.map(missJones).getStatements().get(0);
+
+        assertEquals(white.getStatement(), jones.getStatement());
+        assertFalse(white.getStatement().contains("5"));
+        assertFalse(white.getStatement().contains("3"));
+
+        // the ids are passed as parameters instead
+        assertEquals(5L, white.getParameters().get("$0"));
+        assertEquals(17L, jones.getParameters().get("$0"));
+        assertTrue(white.getParameters().values().contains(3L));
+        assertTrue(jones.getParameters().values().contains(11L));
+    }
+
     @Test
     public void doNothingIfNothingHasChanged() {
 
@@ -201,35 +295,35 @@ public class CypherCompilerTest {
 
         expectOnSave(jim,
                 "CREATE (_0:`Teacher`{_0_props}) " +
-                "WITH _0 MATCH ($0) WHERE id($0)=0 MERGE (_0)-[_1:`SCHOOL`]->($0) " +
+                "WITH _0 MATCH ($0) WHERE id($0)={$0} MERGE (_0)-[_1:`SCHOOL`]->($0) " +
                 "WITH $0,_0,_1 MERGE ($0)-[_2:`TEACHERS`]->(_0) " +
                 "RETURN id(_0) AS _0, id(_1) AS _1, id(_2) AS _2",
                 // or
                 "CREATE (_0:`Teacher`{_0_props}) " +
-                "WITH _0 MATCH ($0) WHERE id($0)=0 MERGE (_0)-[_1:`SCHOOL`]->($0) " +
+                "WITH _0 MATCH ($0) WHERE id($0)={$0} MERGE (_0)-[_1:`SCHOOL`]->($0) " +
                 "WITH $0,_0,_1 MERGE ($0)-[_4:`TEACHERS`]->(_0) " +
                 "RETURN id(_0) AS _0, id(_1) AS _1, id(_4) AS _4");
 
         expectOnSave(waller,
                 "CREATE (_1:`Teacher`{_1_props}) " +
-                "WITH _1 MATCH ($0) WHERE id($0)=0 MERGE ($0)-[_0:`TEACHERS`]->(_1) " +
+                "WITH _1 MATCH ($0) WHERE id($0)={$0} MERGE ($0)-[_0:`TEACHERS`]->(_1) " +
                 "WITH $0,_0,_1 MERGE (_1)-[_2:`SCHOOL`]->($0) " +
                 "RETURN id(_0) AS _0, id(_1) AS _1, id(_2) AS _2",
                 // or
                 "CREATE (_3:`Teacher`{_3_props}) " +
-                "WITH _3 MATCH ($0) WHERE id($0)=0 MERGE ($0)-[_2:`TEACHERS`]->(_3) " +
+                "WITH _3 MATCH ($0) WHERE id($0)={$0} MERGE ($0)-[_2:`TEACHERS`]->(_3) " +
                 "WITH $0,_2,_3 MERGE (_3)-[_4:`SCHOOL`]->($0) " +
                 "RETURN id(_2) AS _2, id(_3) AS _3, id(_4) AS _4");
 
         expectOnSave(mary,
                 "CREATE (_2:`Teacher`{_2_props}) " +
-                "WITH _2 MATCH ($0) WHERE id($0)=0 MERGE ($0)-[_1:`TEACHERS`]->(_2) " +
-                "WITH $0,_1,_2 MERGE (_2)-[_3:`SCHOOL`]->($0) " +
+                "WITH _2 MATCH ($1) WHERE id($1)={$1} MERGE ($1)-[_1:`TEACHERS`]->(_2) " +
+                "WITH $1,_1,_2 MERGE (_2)-[_3:`SCHOOL`]->($1) " +
                 "RETURN id(_1) AS _1, id(_2) AS _2, id(_3) AS _3",
                 // or
                 "CREATE (_3:`Teacher`{_3_props}) " +
-                "WITH _3 MATCH ($0) WHERE id($0)=0 MERGE ($0)-[_2:`TEACHERS`]->(_3) " +
-                "WITH $0,_2,_3 MERGE (_3)-[_4:`SCHOOL`]->($0) " +
+                "WITH _3 MATCH ($1) WHERE id($1)={$1} MERGE ($1)-[_2:`TEACHERS`]->(_3) " +
+                "WITH $1,_2,_3 MERGE (_3)-[_4:`SCHOOL`]->($1) " +
                 "RETURN id(_2) AS _2, id(_3) AS _3, id(_4) AS _4");
 
     }
@@ -314,10 +408,10 @@ public class CypherCompilerTest {
 
         // expect(for now) two separate delete clauses
         String cypher=
-                "MATCH ($0)-[_2:STUDENTS]->($1) WHERE id($0)=0 AND id($1)=1 " +
-                "DELETE _2 " +
-                "WITH $0,$1 MATCH ($0)-[_1:STUDENTS]->($3) WHERE id($3)=3 " +
-                "DELETE _1";
+                "MATCH ($0)-[_1:STUDENTS]->($2) WHERE id($0)={$0} AND id($2)={$2} " +
+                "DELETE _1 " +
+                "WITH $0,$2 MATCH ($0)-[_2:STUDENTS]->($3) WHERE id($3)={$3} " +
+                "DELETE _2";
 
         expectOnSave(music, cypher);
     }
@@ -359,8 +453,8 @@ public class CypherCompilerTest {
 
         // we expect a new relationship to be created, and an old one deleted
         expectOnSave(msThompson,
-                "MATCH ($2) WHERE id($2)=2 MATCH ($3) WHERE id($3)=3 MERGE ($2)-[_2:`STUDENTS`]->($3) " +
-                "WITH $2,$3,_2 MATCH ($1)-[_3:STUDENTS]->($3) WHERE id($1)=1 DELETE _3 " +
+                "MATCH ($2) WHERE id($2)={$2} MATCH ($3) WHERE id($3)={$3} MERGE ($2)-[_2:`STUDENTS`]->($3) " +
+                "WITH $2,$3,_2 MATCH ($1)-[_3:STUDENTS]->($3) WHERE id($1)={$1} DELETE _3 " +
                 "RETURN id(_2) AS _2");
 
         // fixme: these other tests now need to be in their own test method, because
@@ -368,12 +462,12 @@ public class CypherCompilerTest {
         // expect a delete, but don't expect the new relationship to be created, because the fact of it
         // is inaccessible from the businessStudies object
 //        expectOnSave(businessStudies,
-//                "MATCH ($1)-[_0:STUDENTS]->($3) WHERE id($1)=1 AND id($3)=3 DELETE _0");
+//                "MATCH ($1)-[_0:STUDENTS]->($3) WHERE id($1)={$1} AND id($3)={$3} DELETE _0");
 //
 //        // expect the new relationship, but don't expect the old one to be deleted, because the fact
 //        // of it is inaccessible from the designTech object
 //        expectOnSave(designTech,
-//                "MATCH ($2) WHERE id($2)=2 MATCH ($3) WHERE id($3)=3 MERGE ($2)-[_0:`STUDENTS`]->($3) RETURN id(_0) AS _0");
+//                "MATCH ($2) WHERE id($2)={$2} MATCH ($3) WHERE id($3)={$3} MERGE ($2)-[_0:`STUDENTS`]->($3) RETURN id(_0) AS _0");
 //
 //        // we can't explore the object model from shivani at all, so no changes.
 //        expectOnSave(shivani, "");
@@ -423,19 +517,19 @@ public class CypherCompilerTest {
         // this is because MrWhite is not "visited" during the traversal of
         // hillsRoad - his reference is now inaccessible. this looks like a FIXME
         expectOnSave(hillsRoad,
-                "MATCH ($0)-[_2:TEACHERS]->($1) WHERE id($0)=0 AND id($1)=1 DELETE _2");
+                "MATCH ($0)-[_2:TEACHERS]->($2) WHERE id($0)={$0} AND id($2)={$2} DELETE _2");
 
         // we expect mrWhite's relationship to hillsRoad to be removed
         // but the change to hillsRoad's relationship with MrWhite is not detected
         // this is because hillsRoad object is no longer directly accessible from MrWhite
         // looks like a FIXME (infer symmetric deletions)
         expectOnSave(mrWhite,
-                "MATCH ($1)-[_0:SCHOOL]->($0) WHERE id($1)=1 AND id($0)=0 DELETE _0");
+                "MATCH ($0)-[_0:SCHOOL]->($1) WHERE id($0)={$0} AND id($1)={$1} DELETE _0");
 
         // because missJones has a reference to hillsRoad, we expect an outcome
         // the same as if we had saved hillsRoiad directly.
         //expectOnSave(missJones,
-        //        "MATCH ($0)-[_2:TEACHERS]->($1) WHERE id($0)=0 AND id($1)=1 DELETE _2");
+        //        "MATCH ($0)-[_2:TEACHERS]->($1) WHERE id($0)={$0} AND id($1)={$1} DELETE _2");
     }
 
 
@@ -504,7 +598,7 @@ public class CypherCompilerTest {
         link.setTimestamp(327790L);
 
         // expect the property on the relationship entity to be updated on the graph relationship
-        expectOnSave(forum, "MATCH ()-[_0]->() WHERE id(_0)=2 SET _0+={_0_props}");
+        expectOnSave(forum, "MATCH ()-[_0]->() WHERE id(_0)={_0} SET _0+={_0_props}");
 
     }
 
@@ -543,10 +637,10 @@ public class CypherCompilerTest {
         link.setTopic(null);
 
         // expect the delete to be recognised when the forum is saved
-        expectOnSave(forum, "MATCH ($0)-[_0:HAS_TOPIC]->($1) WHERE id($0)=0 AND id($1)=1 DELETE _0");
+        expectOnSave(forum, "MATCH ($0)-[_0:HAS_TOPIC]->($1) WHERE id($0)={$0} AND id($1)={$1} DELETE _0");
 
         // expect the delete to be recognised if the RE is saved
-//        expectOnSave(link, "MATCH ($0)-[_0:HAS_TOPIC]->($1) WHERE id($0)=0 AND id($1)=1 DELETE _0");
+//        expectOnSave(link, "MATCH ($0)-[_0:HAS_TOPIC]->($1) WHERE id($0)={$0} AND id($1)={$1} DELETE _0");
 //
 //        // expect nothing to happen if the topic is saved, because the domain model does not
 //        // permit navigation from the topic to the RE (topic has no reference to it)
@@ -556,6 +650,166 @@ public class CypherCompilerTest {
 
     }
 
+    @Test
+    public void shouldCreateNewNodesInBulkWithOneStatementPerSetOfLabels() {
+
+        Student gary = new Student("Gary");
+        Student sheila = new Student("Sheila");
+        Course physics = new Course();
+        physics.setName("GCSE Physics");
+
+        CypherContext context = new EntityGraphMapper(mappingMetadata, mappingContext, true).map(Arrays.asList(gary, physics, sheila), -1);
+        List<ParameterisedStatement> statements = context.getStatements();
+
+        assertEquals(2, statements.size());
+        assertEquals("UNWIND {rows} AS row CREATE (n:`Student`:`DomainObject`) SET n=row.props RETURN row.ref AS ref, id(n) AS id", statements.get(0).getStatement());
+        assertEquals(2, ((List) statements.get(0).getParameters().get("rows")).size());
+        assertEquals("UNWIND {rows} AS row CREATE (n:`Course`) SET n=row.props RETURN row.ref AS ref, id(n) AS id", statements.get(1).getStatement());
+        assertEquals(1, ((List) statements.get(1).getParameters().get("rows")).size());
+        assertFalse(context.hasDeferredStatements());
+
+        // the ids are returned with the variables of the new nodes
+        Set<String> references = new HashSet<>();
+        for (ParameterisedStatement statement : statements) {
+            references.addAll(references(statement));
+        }
+        assertEquals(3, references.size());
+        assertNotNull(context.getNewObject(references(statements.get(1)).get(0)));
+    }
+
+    @Test
+    public void shouldDeferRelatingNodesCreatedInBulkUntilTheirIdsAreKnown() {
+
+        Student gary = new Student("Gary");
+        Student sheila = new Student("Sheila");
+        Course physics = new Course();
+        physics.setName("GCSE Physics");
+        physics.setStudents(Arrays.asList(gary, sheila));
+
+        CypherContext context = new EntityGraphMapper(mappingMetadata, mappingContext, true).map(physics);
+
+        assertEquals(2, context.getStatements().size());
+        assertTrue(context.hasDeferredStatements());
+
+        // the course is created first
+        registerIdentities(context, context.getStatements().get(0), 10L);
+        registerIdentities(context, context.getStatements().get(1), 11L);
+
+        List<ParameterisedStatement> deferred = context.getDeferredStatements();
+        assertEquals(1, deferred.size());
+        assertEquals("UNWIND {rows} AS row MATCH (startNode) WHERE id(startNode)=row.startNodeId " +
+                "MATCH (endNode) WHERE id(endNode)=row.endNodeId " +
+                "MERGE (startNode)-[rel:`STUDENTS`]->(endNode) RETURN row.ref AS ref, id(rel) AS id", deferred.get(0).getStatement());
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) deferred.get(0).getParameters().get("rows");
+        assertEquals(2, rows.size());
+        for (Map<String, Object> row : rows) {
+            assertEquals(10L, row.get("startNodeId"));
+            assertNotNull(row.get("ref"));
+        }
+    }
+
+    @Test
+    public void shouldRegisterNewNodesAndRelationshipsOnceHoweverOftenTheStatementsAreCompiled() {
+
+        MultiStatementCypherCompiler compiler = new MultiStatementCypherCompiler();
+        NodeBuilder course = compiler.newNode().addLabels(Arrays.asList("Course"));
+        NodeBuilder student = compiler.newNode().addLabels(Arrays.asList("Student"));
+        compiler.newRelationship().type("STUDENTS").relate(course.reference(), student.reference());
+
+        List<ParameterisedStatement> statements = compiler.getStatements();
+        CypherContext context = compiler.compile();
+
+        assertSame(statements, context.getStatements());
+        assertEquals(2, statements.size());
+
+        registerIdentities(context, statements.get(0), 10L);
+        registerIdentities(context, statements.get(1), 11L);
+        assertEquals(1, context.getDeferredStatements().size());
+    }
+
+    @Test
+    public void shouldWriteRelationshipEntitiesInBulkByType() {
+
+        Forum forum = new Forum();
+        forum.setId(0L);
+        forum.setName("Spring Data Neo4j");
+
+        Topic topic = new Topic();
+        topic.setTopicId(1L);
+
+        Topic anotherTopic = new Topic();
+        anotherTopic.setTopicId(3L);
+
+        ForumTopicLink link = new ForumTopicLink();
+        link.setId(2L);
+        link.setForum(forum);
+        link.setTopic(topic);
+
+        ForumTopicLink newLink = new ForumTopicLink();
+        newLink.setForum(forum);
+        newLink.setTopic(anotherTopic);
+        newLink.setTimestamp(1647209L);
+
+        forum.setTopicsInForum(Arrays.asList(link, newLink));
+
+        mappingContext.remember(forum);
+        mappingContext.remember(topic);
+        mappingContext.remember(anotherTopic);
+        mappingContext.remember(link);
+        mappingContext.registerRelationship(new MappedRelationship(0L, "HAS_TOPIC", 1L));
+
+        link.setTimestamp(327790L);
+
+        CypherContext context = new EntityGraphMapper(mappingMetadata, mappingContext, true).map(forum);
+        List<ParameterisedStatement> statements = context.getStatements();
+
+        // both nodes of the new relationship exist, so nothing is deferred
+        assertFalse(context.hasDeferredStatements());
+        assertEquals(2, statements.size());
+        assertEquals("UNWIND {rows} AS row MATCH ()-[rel:`HAS_TOPIC`]->() WHERE id(rel)=row.relId SET rel+=row.props", statements.get(0).getStatement());
+        assertEquals("UNWIND {rows} AS row MATCH (startNode) WHERE id(startNode)=row.startNodeId " +
+                "MATCH (endNode) WHERE id(endNode)=row.endNodeId " +
+                "MERGE (startNode)-[rel:`HAS_TOPIC`{`timestamp`:row.props.`timestamp`}]->(endNode) RETURN row.ref AS ref, id(rel) AS id", statements.get(1).getStatement());
+
+        Map<String, Object> row = ((List<Map<String, Object>>) statements.get(1).getParameters().get("rows")).get(0);
+        assertEquals(0L, row.get("startNodeId"));
+        assertEquals(3L, row.get("endNodeId"));
+    }
+
+    @Test
+    public void shouldQuoteThePropertyKeysOfRelationshipsWrittenInBulk() {
+        MultiStatementCypherCompiler compiler = new MultiStatementCypherCompiler();
+        NodeBuilder forum = compiler.existingNode(0L);
+        NodeBuilder topic = compiler.existingNode(1L);
+        RelationshipBuilder link = compiler.newRelationship().type("HAS_TOPIC");
+        link.addProperty("order", 1);
+        link.addProperty("posted at", 1647209L);
+        link.relate(forum.reference(), topic.reference());
+
+        List<ParameterisedStatement> statements = compiler.getStatements();
+        assertEquals(1, statements.size());
+        assertEquals("UNWIND {rows} AS row MATCH (startNode) WHERE id(startNode)=row.startNodeId " +
+                "MATCH (endNode) WHERE id(endNode)=row.endNodeId " +
+                "MERGE (startNode)-[rel:`HAS_TOPIC`{`order`:row.props.`order`,`posted at`:row.props.`posted at`}]->(endNode) " +
+                "RETURN row.ref AS ref, id(rel) AS id", statements.get(0).getStatement());
+    }
+
+    private static List<String> references(ParameterisedStatement statement) {
+        List<String> references = new ArrayList<>();
+        for (Map<String, Object> row : (List<Map<String, Object>>) statement.getParameters().get("rows")) {
+            references.add((String) row.get("ref"));
+        }
+        return references;
+    }
+
+    // as the database would, assigning ids in the order of the rows
+    private static void registerIdentities(CypherContext context, ParameterisedStatement statement, long firstId) {
+        for (String reference : references(statement)) {
+            context.registerIdentity(reference, firstId++);
+        }
+    }
+
     private void expectOnSave(Object object, String... cypher) {
         ParameterisedStatements statements = new ParameterisedStatements(this.mapper.map(object).getStatements());
         for (String s : cypher) {
@@ -565,8 +819,4 @@ public class CypherCompilerTest {
         }
         fail("unexpected: '" + statements.getStatements().get(0).getStatement() + "'");
     }
-
-    private String var(Long nodeId) {
-        return "$" + nodeId;
-    }
 }
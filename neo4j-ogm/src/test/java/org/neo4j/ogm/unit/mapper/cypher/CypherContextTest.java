@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.mapper.cypher;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegister;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CypherContextTest {
+
+    private RelationshipRegister knownRelationships;
+    private CypherContext context;
+
+    @Before
+    public void setUp() {
+        knownRelationships = new RelationshipRegister();
+        knownRelationships.add(new MappedRelationship(1L, "INFLUENCES", 2L));
+        knownRelationships.add(new MappedRelationship(1L, "INFLUENCES", 3L));
+        knownRelationships.add(new MappedRelationship(1L, "WRITES", 2L));
+        knownRelationships.add(new MappedRelationship(5L, "INFLUENCES", 6L));
+        context = new CypherContext();
+    }
+
+    @Test
+    public void shouldOnlyConsiderRelationshipsThatWereDeregistered() {
+        assertTrue(context.deregisteredRelationships(knownRelationships).isEmpty());
+
+        context.deregisterOutgoingRelationships(1L, "INFLUENCES");
+        context.registerRelationship(new MappedRelationship(1L, "INFLUENCES", 2L));
+
+        Collection<MappedRelationship> deregistered = context.deregisteredRelationships(knownRelationships);
+        assertEquals(1, deregistered.size());
+        assertTrue(deregistered.contains(new MappedRelationship(1L, "INFLUENCES", 3L)));
+    }
+
+    @Test
+    public void shouldFindRelationshipsDeregisteredFromBothEndsOnce() {
+        context.deregisterOutgoingRelationships(5L, "INFLUENCES");
+        context.deregisterIncomingRelationships(6L, "INFLUENCES");
+
+        Collection<MappedRelationship> deregistered = context.deregisteredRelationships(knownRelationships);
+        assertEquals(1, deregistered.size());
+        assertTrue(deregistered.contains(new MappedRelationship(5L, "INFLUENCES", 6L)));
+    }
+}
@@ -19,12 +19,19 @@
 package org.neo4j.ogm.unit.mapper.model.bike;
 
 import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
 import org.neo4j.ogm.domain.bike.Bike;
+import org.neo4j.ogm.domain.bike.Saddle;
 import org.neo4j.ogm.domain.bike.Wheel;
+import org.neo4j.ogm.session.DriverConfig;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.transaction.Transaction;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -87,4 +94,54 @@ public class BikeTest {
 
     }
 
+    @Test
+    public void testLoadCachedEntityWithoutRequest() {
+
+        SessionFactory sessionFactory = new SessionFactory(new DriverConfig().cache(Saddle.class, 60000, 100), "org.neo4j.ogm.domain.bike");
+        Neo4jSession session = ((Neo4jSession) sessionFactory.openSession("dummy-url"));
+        session.setRequest(new BikeRequest());
+        session.loadAll(Bike.class);
+
+        Neo4jSession anotherSession = ((Neo4jSession) sessionFactory.openSession("dummy-url"));
+        anotherSession.setRequest(new Neo4jRequest<String>() {
+            @Override
+            public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+                throw new AssertionError("the saddle should have been loaded from the cache");
+            }
+        });
+
+        Saddle saddle = anotherSession.load(Saddle.class, 19L);
+        assertEquals(19, (long) saddle.getId());
+        assertEquals("plastic", saddle.getMaterial());
+        assertEquals(42.99, saddle.getPrice(), 0.00);
+    }
+
+    @Test
+    public void testLoadCachedEntityFromServerWithinTransaction() {
+
+        SessionFactory sessionFactory = new SessionFactory(new DriverConfig().cache(Saddle.class, 60000, 100), "org.neo4j.ogm.domain.bike");
+        Neo4jSession session = ((Neo4jSession) sessionFactory.openSession("dummy-url"));
+        session.setRequest(new BikeRequest());
+        session.loadAll(Bike.class);
+
+        // the transaction may already have changed the saddle, so the cached copy must not be served
+        final AtomicInteger requests = new AtomicInteger();
+        Neo4jSession anotherSession = ((Neo4jSession) sessionFactory.openSession("dummy-url"));
+        anotherSession.setRequest(new BikeRequest() {
+            @Override
+            public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+                requests.incrementAndGet();
+                return super.execute(url, statements);
+            }
+        });
+
+        Transaction tx = anotherSession.beginTransaction();
+        try {
+            anotherSession.load(Saddle.class, 19L);
+            assertEquals(1, requests.get());
+        } finally {
+            tx.rollback();
+        }
+    }
+
 }
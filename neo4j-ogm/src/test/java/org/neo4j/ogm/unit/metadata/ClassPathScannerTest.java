@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.metadata;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.metadata.ClassPathScanner;
+import org.neo4j.ogm.metadata.info.ClassFileProcessor;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.ClassInfoProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClassPathScannerTest {
+
+    private static final int SYNTHETIC_CLASSES = 1000;
+    private static final String SYNTHETIC_PATH = "org/neo4j/ogm/synthetic/";
+
+    private File jar;
+
+    @Before
+    public void createSyntheticJar() throws IOException {
+        jar = File.createTempFile("synthetic", ".jar");
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < SYNTHETIC_CLASSES; i++) {
+                String name = SYNTHETIC_PATH + "package" + (i % 100) + "/Entity" + i;
+                jarOutputStream.putNextEntry(new ZipEntry(name + ".class"));
+                jarOutputStream.write(classFile(name, i % 10 == 0 ? "java/lang/Object" : SYNTHETIC_PATH + "package" + (i % 100) + "/Entity" + (i - i % 10)));
+                jarOutputStream.closeEntry();
+            }
+            jarOutputStream.putNextEntry(new ZipEntry("org/neo4j/ogm/elsewhere/Ignored.class"));
+            jarOutputStream.write(classFile("org/neo4j/ogm/elsewhere/Ignored", "java/lang/Object"));
+            jarOutputStream.closeEntry();
+        }
+    }
+
+    @After
+    public void deleteSyntheticJar() {
+        jar.delete();
+    }
+
+    @Test
+    public void shouldFindTheSameClassesWhenScanningInParallel() {
+        List<String> classPaths = Collections.singletonList("org/neo4j/ogm/domain/forum");
+
+        ClassNames sequential = new ClassNames();
+        new ClassPathScanner().scan(classPaths, sequential);
+
+        ClassNames parallel = new ClassNames();
+        new ClassPathScanner(4).scan(classPaths, parallel);
+
+        assertTrue(sequential.names.contains("org.neo4j.ogm.domain.forum.Member"));
+        assertEquals(sequential.names, parallel.names);
+        assertTrue(parallel.finished);
+    }
+
+    @Test
+    public void shouldOnlyScanTheClassesUnderTheClassPathsOfAJar() {
+        ClassNames classNames = new ClassNames();
+        new ClassPathScanner(4).scan(Arrays.asList(jar), Collections.singletonList(SYNTHETIC_PATH), classNames);
+
+        assertEquals(SYNTHETIC_CLASSES, classNames.names.size());
+        assertEquals("org.neo4j.ogm.synthetic.package0.Entity0", classNames.names.get(0));
+        assertEquals("org.neo4j.ogm.synthetic.package99.Entity999", classNames.names.get(SYNTHETIC_CLASSES - 1));
+    }
+
+    @Test
+    public void shouldFindTheSameClassesInAJarWhenScanningInParallel() {
+        ClassNames sequential = new ClassNames();
+        new ClassPathScanner().scan(Arrays.asList(jar), Collections.singletonList(SYNTHETIC_PATH), sequential);
+
+        ClassNames parallel = new ClassNames();
+        new ClassPathScanner(4).scan(Arrays.asList(jar), Collections.singletonList(SYNTHETIC_PATH), parallel);
+
+        assertEquals(SYNTHETIC_CLASSES, sequential.names.size());
+        assertEquals(sequential.names, parallel.names);
+    }
+
+    @Test
+    public void shouldScanClassFilesOneAtATimeForProcessorsThatOnlyReadThem() {
+        final List<String> names = new ArrayList<>();
+        new ClassPathScanner(4).scan(Arrays.asList(jar), Collections.singletonList(SYNTHETIC_PATH), new ClassFileProcessor() {
+            @Override
+            public void process(InputStream inputStream) throws IOException {
+                names.add(new ClassInfo(inputStream).name());
+            }
+
+            @Override
+            public void finish() {
+            }
+        });
+
+        assertEquals(SYNTHETIC_CLASSES, names.size());
+    }
+
+    /**
+     * Writes a class file declaring a handful of fields, much like a simple domain entity.
+     */
+    private static byte[] classFile(String name, String superclassName) throws IOException {
+        String[] fields = { "id", "Ljava/lang/Long;", "name", "Ljava/lang/String;", "created", "Ljava/util/Date;",
+                "score", "I", "tags", "Ljava/util/List;", "active", "Z" };
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(51);
+
+        // constant pool: the class, its superclass and the names and descriptors of its fields
+        out.writeShort(5 + fields.length);
+        out.writeByte(1);
+        out.writeUTF(name);
+        out.writeByte(7);
+        out.writeShort(1);
+        out.writeByte(1);
+        out.writeUTF(superclassName);
+        out.writeByte(7);
+        out.writeShort(3);
+        for (String field : fields) {
+            out.writeByte(1);
+            out.writeUTF(field);
+        }
+
+        out.writeShort(0x0021); // public, super
+        out.writeShort(2);
+        out.writeShort(4);
+        out.writeShort(0); // interfaces
+        out.writeShort(fields.length / 2);
+        for (int i = 0; i < fields.length; i += 2) {
+            out.writeShort(0x0002); // private
+            out.writeShort(5 + i);
+            out.writeShort(6 + i);
+            out.writeShort(0); // attributes
+        }
+        out.writeShort(0); // methods
+        out.writeShort(0); // attributes
+        return bytes.toByteArray();
+    }
+
+    private static class ClassNames implements ClassInfoProcessor {
+
+        private final List<String> names = new ArrayList<>();
+        private boolean finished;
+
+        @Override
+        public void process(InputStream inputStream) throws IOException {
+            process(new ClassInfo(inputStream));
+        }
+
+        @Override
+        public void process(ClassInfo classInfo) {
+            names.add(classInfo.name());
+        }
+
+        @Override
+        public void finish() {
+            finished = true;
+        }
+    }
+}
@@ -20,13 +20,16 @@ package org.neo4j.ogm.unit.metadata;
 
 import org.junit.Test;
 import org.neo4j.ogm.domain.education.Student;
+import org.neo4j.ogm.domain.forum.Login;
 import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.domain.forum.Topic;
 import org.neo4j.ogm.domain.forum.activity.Activity;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
 import org.neo4j.ogm.metadata.info.MethodInfo;
 
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
@@ -388,6 +391,26 @@ public class MetaDataTest {
         assertNull(classInfo);
     }
 
+    @Test
+    public void testResolvedTaxaAreRemembered() {
+        assertSame(metaData.resolve("Login", "User"), metaData.resolve("Login", "User"));
+        assertNull(metaData.resolve("Login", "Topic"));
+        assertNull(metaData.resolve("Login", "Topic"));
+    }
+
+    @Test
+    public void testClassInfoIsFoundForPartiallyQualifiedName() {
+        assertEquals("org.neo4j.ogm.domain.forum.activity.Activity", metaData.classInfo("activity.Activity").name());
+        assertNull(metaData.classInfo("canonical.Activity"));
+    }
+
+    @Test
+    public void testTypeHierarchyStopsAtTheDomain() {
+        assertArrayEquals(new Class<?>[] { Member.class, Login.class }, metaData.typeHierarchy(Member.class));
+        assertArrayEquals(new Class<?>[] { Topic.class }, metaData.typeHierarchy(Topic.class));
+        assertSame(metaData.typeHierarchy(Member.class), metaData.typeHierarchy(Member.class));
+    }
+
     @Test
     public void testClassInfoIsFoundForFQN() {
         String fqn = "org.neo4j.ogm.domain.forum.Topic";
@@ -577,5 +600,23 @@ public class MetaDataTest {
         assertEquals(Arrays.asList("Student", "DomainObject"), nonAnnotatedClassInfo.labels());
     }
 
+    /**
+     * The accessors of a class are resolved once, including fields declared by its superclasses
+     */
+    @Test
+    public void testAccessorsAreResolvedOnce() throws Exception {
+        ClassInfo classInfo = new MetaData("org.neo4j.ogm.domain.education").classInfo(Student.class.getSimpleName());
+
+        assertSame(classInfo.identityField(), classInfo.identityField());
+        assertSame(classInfo.propertyFields(), classInfo.propertyFields());
+        assertSame(classInfo.relationshipFields(), classInfo.relationshipFields());
+
+        Field identityField = classInfo.getField(classInfo.identityField());
+        assertEquals("org.neo4j.ogm.domain.education.DomainObject", identityField.getDeclaringClass().getName());
+        assertSame(identityField, classInfo.getField(classInfo.identityField()));
+        // the field has been made accessible, so it can be read from outside its package
+        assertNull(identityField.get(new Student()));
+    }
+
 
 }
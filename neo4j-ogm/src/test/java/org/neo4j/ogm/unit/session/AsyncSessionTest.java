@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.RequestProxy;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.domain.bike.Bike;
+import org.neo4j.ogm.session.AsyncSession;
+import org.neo4j.ogm.session.Neo4jAsyncSession;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.unit.mapper.model.bike.BikeRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncSessionTest {
+
+    private ExecutorService executor;
+    private Neo4jSession neo4jSession;
+    private AsyncSession session;
+
+    @Before
+    public void init() {
+        neo4jSession = (Neo4jSession) new SessionFactory("org.neo4j.ogm.domain.bike").openSession("dummy-url");
+        neo4jSession.setRequest(new BikeRequest());
+        executor = Executors.newFixedThreadPool(8);
+        session = new Neo4jAsyncSession(neo4jSession, executor);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldMapConcurrentLoadsIntoOneMappingContext() throws Exception {
+        List<Future<Collection<Bike>>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(session.loadAll(Bike.class));
+        }
+
+        Bike bike = null;
+        for (Future<Collection<Bike>> future : futures) {
+            Collection<Bike> bikes = future.get();
+            assertEquals(1, bikes.size());
+            if (bike == null) {
+                bike = bikes.iterator().next();
+            }
+            // every load resolves to the same instance
+            assertSame(bike, bikes.iterator().next());
+        }
+        assertEquals(15, (long) bike.getId());
+        assertEquals(2, bike.getWheels().size());
+    }
+
+    @Test
+    public void shouldLoadById() throws Exception {
+        Bike bike = session.load(Bike.class, 15L).get();
+        assertNotNull(bike);
+        assertEquals(2, bike.getWheels().size());
+    }
+
+    @Test
+    public void shouldNotHoldTheSessionWhileSavesAreInFlight() throws Exception {
+        // each request waits until the other is in flight too
+        final CyclicBarrier inFlight = new CyclicBarrier(2);
+        neo4jSession.setRequest(new RequestProxy() {
+            @Override
+            protected String[] getResponse() {
+                try {
+                    inFlight.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return new String[] { "{\"row\":[]}" };
+            }
+        });
+
+        Future<Bike> first = session.save(new Bike());
+        Future<Bike> second = session.save(new Bike());
+
+        assertNotNull(first.get());
+        assertNotNull(second.get());
+    }
+
+    @Test
+    public void shouldRunOperationsInTheTransactionBegunOnTheSession() throws Exception {
+        final List<String> urls = Collections.synchronizedList(new ArrayList<String>());
+        neo4jSession.setRequest(new RequestProxy() {
+            @Override
+            public Neo4jResponse<String> execute(String url, ParameterisedStatements request) {
+                urls.add(url);
+                return super.execute(url, request);
+            }
+
+            @Override
+            protected String[] getResponse() {
+                return new String[0];
+            }
+        });
+
+        Transaction tx = session.beginTransaction();
+        Future<Collection<Bike>> first = session.loadAll(Bike.class);
+        Future<Collection<Bike>> second = session.loadAll(Bike.class);
+        first.get();
+        second.get();
+
+        // the transaction is not bound to the calling thread
+        neo4jSession.loadAll(Bike.class);
+
+        tx.commit();
+        session.loadAll(Bike.class).get();
+
+        assertEquals(Arrays.asList(
+                "dummy-url/db/data/transaction",
+                "dummy-url/db/data/transaction",
+                "dummy-url/db/data/transaction/commit",
+                "dummy-url/db/data/transaction/commit"), urls);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.bike.Saddle;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.session.DriverConfig;
+import org.neo4j.ogm.session.EntityCache;
+import org.neo4j.ogm.session.Utils;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class EntityCacheTest {
+
+    private final EntityCache entityCache = new EntityCache(new MetaData("org.neo4j.ogm.domain.bike"),
+            new DriverConfig().cache(Saddle.class, 60000, 100));
+
+    @Test
+    public void shouldCacheNodesReadBeforeAnyInvalidation() {
+        long version = entityCache.version();
+        entityCache.put(saddle("plastic"), version);
+
+        assertNotNull(entityCache.get("Saddle", 19L));
+    }
+
+    @Test
+    public void shouldNotCacheNodesReadBeforeTheyWereInvalidated() {
+        entityCache.put(saddle("plastic"));
+
+        // a read is sent, then the saddle is saved and invalidated while the read is in flight
+        long version = entityCache.version();
+        entityCache.invalidate(19L);
+        entityCache.put(saddle("plastic"), version);
+
+        assertNull(entityCache.get("Saddle", 19L));
+    }
+
+    private static GraphModel saddle(String material) {
+        NodeModel node = new NodeModel();
+        node.setId(19L);
+        node.setLabels(new String[] { "Saddle" });
+        node.setProperties(Utils.map("material", material));
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(new NodeModel[] { node });
+        return graphModel;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package org.neo4j.ogm.unit.session;
+
+import org.junit.Test;
+import org.neo4j.ogm.session.QueryCache;
+import org.neo4j.ogm.session.Utils;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class QueryCacheTest {
+
+    private static final String FIND_PERSON = "MATCH (p:Person) WHERE p.name = {name} RETURN p";
+    private static final String FIND_FRIENDS = "MATCH (p:`Person`)-[:KNOWS]->(f) RETURN f";
+
+    @Test
+    public void shouldHoldResultsByCypherAndParameters() {
+        QueryCache cache = new QueryCache(60000, 10);
+        cache.put(Object.class, FIND_PERSON, Utils.map("name", "Alice"), "alice");
+
+        assertEquals("alice", cache.get(Object.class, FIND_PERSON, Utils.map("name", "Alice")));
+        assertNull(cache.get(Object.class, FIND_PERSON, Utils.map("name", "Bob")));
+        assertNull(cache.get(String.class, FIND_PERSON, Utils.map("name", "Alice")));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldHoldNothingWhenDisabled() {
+        QueryCache cache = new QueryCache(0, 0);
+        cache.put(Object.class, FIND_PERSON, Utils.map(), "alice");
+
+        assertNull(cache.get(Object.class, FIND_PERSON, Utils.map()));
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResults() {
+        QueryCache cache = new QueryCache(60000, 2);
+        cache.put(Object.class, "MATCH (n:A) RETURN n", Utils.map(), "a");
+        cache.put(Object.class, "MATCH (n:B) RETURN n", Utils.map(), "b");
+        cache.get(Object.class, "MATCH (n:A) RETURN n", Utils.map());
+        cache.put(Object.class, "MATCH (n:C) RETURN n", Utils.map(), "c");
+
+        assertEquals("a", cache.get(Object.class, "MATCH (n:A) RETURN n", Utils.map()));
+        assertNull(cache.get(Object.class, "MATCH (n:B) RETURN n", Utils.map()));
+        assertEquals("c", cache.get(Object.class, "MATCH (n:C) RETURN n", Utils.map()));
+    }
+
+    @Test
+    public void shouldExpireResults() throws InterruptedException {
+        QueryCache cache = new QueryCache(1, 10);
+        cache.put(Object.class, FIND_PERSON, Utils.map(), "alice");
+        Thread.sleep(10);
+
+        assertNull(cache.get(Object.class, FIND_PERSON, Utils.map()));
+    }
+
+    @Test
+    public void shouldInvalidateResultsOfQueriesNamingWrittenLabelsOrTypes() {
+        QueryCache cache = new QueryCache(60000, 10);
+        cache.put(Object.class, FIND_PERSON, Utils.map(), "person");
+        cache.put(Object.class, FIND_FRIENDS, Utils.map(), "friends");
+        cache.put(Object.class, "MATCH (b:Bike) RETURN b", Utils.map(), "bike");
+
+        cache.invalidate(Arrays.asList("KNOWS"));
+
+        assertEquals("person", cache.get(Object.class, FIND_PERSON, Utils.map()));
+        assertNull(cache.get(Object.class, FIND_FRIENDS, Utils.map()));
+        assertEquals("bike", cache.get(Object.class, "MATCH (b:Bike) RETURN b", Utils.map()));
+
+        cache.invalidate(Arrays.asList("Person"));
+
+        assertNull(cache.get(Object.class, FIND_PERSON, Utils.map()));
+        assertEquals("bike", cache.get(Object.class, "MATCH (b:Bike) RETURN b", Utils.map()));
+    }
+
+    @Test
+    public void shouldInvalidateEverythingOnWritesNamingNothing() {
+        QueryCache cache = new QueryCache(60000, 10);
+        cache.put(Object.class, FIND_PERSON, Utils.map(), "person");
+
+        cache.invalidate("MATCH (n) WHERE id(n) = {id} DETACH DELETE n");
+
+        assertNull(cache.get(Object.class, FIND_PERSON, Utils.map()));
+    }
+}
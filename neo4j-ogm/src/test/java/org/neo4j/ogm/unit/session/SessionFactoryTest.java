@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session;
+
+import org.apache.http.pool.PoolStats;
+import org.junit.Test;
+import org.neo4j.ogm.session.DriverConfig;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.request.RequestStatistics;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionFactoryTest {
+
+    @Test
+    public void shouldSizeConnectionPoolFromDriverConfig() {
+        SessionFactory sessionFactory = new SessionFactory(new DriverConfig().maxConnections(7).maxConnectionsPerRoute(3),
+                "org.neo4j.ogm.domain.education");
+        try {
+            PoolStats stats = sessionFactory.poolStatistics();
+            assertEquals(7, stats.getMax());
+            assertEquals(0, stats.getLeased());
+            assertEquals(0, stats.getPending());
+            assertEquals(0, stats.getAvailable());
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+    @Test
+    public void shouldUseDefaultDriverConfig() {
+        SessionFactory sessionFactory = new SessionFactory("org.neo4j.ogm.domain.education");
+        try {
+            assertEquals(new DriverConfig().getMaxConnections(), sessionFactory.poolStatistics().getMax());
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+    @Test
+    public void shouldStartWithEmptyRequestStatistics() {
+        SessionFactory sessionFactory = new SessionFactory(new DriverConfig().compression(true).compressRequestsAbove(8192),
+                "org.neo4j.ogm.domain.education");
+        try {
+            RequestStatistics statistics = sessionFactory.requestStatistics();
+            assertEquals(0, statistics.getRequests());
+            assertEquals(0, statistics.getResponseBytes());
+            assertEquals(1.0, statistics.getRequestCompressionRatio(), 0.0);
+            assertEquals(1.0, statistics.getResponseCompressionRatio(), 0.0);
+        } finally {
+            sessionFactory.close();
+        }
+    }
+}
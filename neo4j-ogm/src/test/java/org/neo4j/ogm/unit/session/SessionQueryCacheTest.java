@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.domain.forum.Forum;
+import org.neo4j.ogm.domain.forum.ForumTopicLink;
+import org.neo4j.ogm.session.DriverConfig;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.response.ListResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SessionQueryCacheTest {
+
+    private static final String COUNT_LINKS = "MATCH ()-[r:HAS_TOPIC]->() RETURN count(r) AS links";
+    private static final String COUNT_POSTS = "MATCH (p:Post) RETURN count(p) AS links";
+    private static final String FIND_FORUMS = "MATCH (f:Forum)-[r:HAS_TOPIC]->(t) RETURN f, r, t";
+
+    private static final String FORUM =
+            "{\"graph\": { " +
+                "\"nodes\" :[ " +
+                    "{\"id\" : \"0\",\"labels\" : [ \"Forum\"], \"properties\" : { \"name\" : \"Spring Data Neo4j\" } }, " +
+                    "{\"id\" : \"1\",\"labels\" : [ \"Topic\"], \"properties\" : { } } " +
+                "], " +
+                "\"relationships\": [" +
+                    "{\"id\":\"2\",\"type\":\"HAS_TOPIC\",\"startNode\":\"0\",\"endNode\":\"1\",\"properties\":{ \"timestamp\" : 1647209 }} " +
+                "] " +
+            "} }";
+
+    private final List<String> executed = new ArrayList<>();
+    private SessionFactory sessionFactory;
+    private Neo4jSession session;
+
+    @Before
+    public void init() {
+        sessionFactory = new SessionFactory(new DriverConfig().cacheQueries(60000, 10), "org.neo4j.ogm.domain.forum");
+        session = (Neo4jSession) sessionFactory.openSession("dummy-url");
+        session.setRequest(new Neo4jRequest<String>() {
+            @Override
+            public Neo4jResponse<String> execute(String url, ParameterisedStatements request) {
+                List<String> records = new ArrayList<>();
+                for (ParameterisedStatement statement : request.getStatements()) {
+                    executed.add(statement.getStatement());
+                    if (statement.getStatement().startsWith("MATCH ()-[r") || statement.getStatement().startsWith("MATCH (p")) {
+                        records.add("{\"row\":[1]}");
+                    } else if (statement.getResultDataContents()[0].equals("graph")) {
+                        records.add(FORUM);
+                    }
+                }
+                return new ListResponse<>(new String[] { "links" }, records);
+            }
+        });
+    }
+
+    @Test
+    public void shouldNotLetTheCachedRowsOfAQueryBeChanged() {
+        Map<String, Object> row = session.query(COUNT_LINKS, Utils.map()).iterator().next();
+        row.put("links", 42);
+
+        Map<String, Object> cached = session.query(COUNT_LINKS, Utils.map()).iterator().next();
+        assertEquals(1, executed.size());
+        assertEquals(1, cached.get("links"));
+        try {
+            cached.put("links", 42);
+            fail("the rows of a cached query should not be changed");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldNotLetTheCachedGraphOfAnEntityQueryBeChanged() {
+        session.query(Forum.class, FIND_FORUMS, Utils.map());
+        session.query(Forum.class, FIND_FORUMS, Utils.map());
+        assertEquals(1, executed.size());
+
+        List<?> cached = (List<?>) sessionFactory.queryCache().get(Forum.class, FIND_FORUMS, Utils.map());
+        try {
+            cached.clear();
+            fail("the graph of a cached query should not be changed");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldOnlyInvalidateQueriesNamingTheTypeOfAnUpdatedRelationshipEntity() {
+        Forum forum = session.load(Forum.class, 0L);
+        session.query(COUNT_LINKS, Utils.map());
+        session.query(COUNT_POSTS, Utils.map());
+
+        ForumTopicLink link = forum.getTopicsInForum().get(0);
+        link.setTimestamp(327790L);
+        session.save(link);
+
+        // the statement that updates the relationship names its id, but not its type
+        executed.clear();
+        session.query(COUNT_LINKS, Utils.map());
+        session.query(COUNT_POSTS, Utils.map());
+        assertEquals(Collections.singletonList(COUNT_LINKS), executed);
+    }
+}
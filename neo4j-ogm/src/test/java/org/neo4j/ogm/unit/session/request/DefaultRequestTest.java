@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.request.DefaultRequest;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DefaultRequestTest {
+
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private volatile int status;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if (status == 204) {
+                    exchange.sendResponseHeaders(status, -1);
+                } else {
+                    byte[] body = "{\"errors\":[]}".getBytes("UTF-8");
+                    exchange.sendResponseHeaders(status, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+
+        // a single connection, which a leaked response would keep leased
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(1);
+        connectionManager.setDefaultMaxPerRoute(1);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(5000).build())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldReleaseTheConnectionWhenTheServerFails() {
+        status = 500;
+        for (int i = 0; i < 3; i++) {
+            executeAndFail();
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    public void shouldReleaseTheConnectionWhenTheResponseHasNoContent() {
+        status = 204;
+        for (int i = 0; i < 3; i++) {
+            executeAndFail();
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+        }
+    }
+
+    private void executeAndFail() {
+        DefaultRequest request = new DefaultRequest(httpClient, new ObjectMapper());
+        ParameterisedStatements statements = new ParameterisedStatements(Collections.singletonList(
+                new ParameterisedStatement("MATCH (n) RETURN n", Collections.<String, Object>emptyMap())));
+        try {
+            request.execute("http://localhost:" + server.getAddress().getPort() + "/db/data/transaction/commit", statements);
+            fail("the request should have failed");
+        } catch (ResultProcessingException expected) {
+            // the connection should be back in the pool
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.request.StatementsEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StatementsEntityTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldWriteTheSameJsonAsTheObjectMapper() throws Exception {
+        List<ParameterisedStatement> list = new ArrayList<>();
+        list.add(new ParameterisedStatement("MATCH (n) WHERE id(n) = { id } RETURN n", Collections.singletonMap("id", 42)));
+        list.add(new ParameterisedStatement("CREATE (n:Person { name: { name } })", Collections.singletonMap("name", "\u00dcn\u00efc\u00f6d\u00e9")));
+        ParameterisedStatements statements = new ParameterisedStatements(list);
+
+        StatementsEntity entity = new StatementsEntity(statements, mapper);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+
+        JsonNode expected = mapper.readTree(mapper.writeValueAsString(statements));
+        assertEquals(expected, mapper.readTree(out.toString("UTF-8")));
+    }
+
+    @Test
+    public void shouldBeRepeatable() throws Exception {
+        List<ParameterisedStatement> list = new ArrayList<>();
+        list.add(new ParameterisedStatement("MATCH (n) RETURN n", Collections.<String, Object>emptyMap()));
+
+        StatementsEntity entity = new StatementsEntity(new ParameterisedStatements(list), mapper);
+        assertTrue(entity.isRepeatable());
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        entity.writeTo(first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        entity.writeTo(second);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertEquals(-1, entity.getContentLength());
+    }
+
+    @Test
+    public void shouldCompareItsSizeWithoutBufferingTheBody() throws Exception {
+        List<ParameterisedStatement> list = new ArrayList<>();
+        list.add(new ParameterisedStatement("MATCH (n) RETURN n", Collections.<String, Object>emptyMap()));
+        ParameterisedStatements statements = new ParameterisedStatements(list);
+
+        int size = mapper.writeValueAsBytes(statements).length;
+        StatementsEntity entity = new StatementsEntity(statements, mapper);
+
+        assertTrue(entity.isLargerThan(size - 1));
+        assertFalse(entity.isLargerThan(size));
+        assertFalse(entity.isLargerThan(size * 10));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.JsonResponse;
+import org.neo4j.ogm.session.response.RowModelResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.RowModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+public class JsonResponseTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldReadColumnsAndRows() {
+        String json = "{\"commit\":\"http://localhost:7474/db/data/transaction/1/commit\"," +
+                "\"results\":[{\"columns\":[\"_0\",\"_1\"],\"data\":[{\"row\":[1,2]},{\"row\":[3,4]}]}]," +
+                "\"transaction\":{\"expires\":\"Mon, 01 Jan 2015 00:00:00 +0000\"},\"errors\":[]}";
+
+        RowModelResponse response = new RowModelResponse(new JsonResponse(stream(json), mapper));
+
+        assertArrayEquals(new String[]{"_0", "_1"}, response.columns());
+
+        RowModel row = response.next();
+        assertEquals(1, row.getValues()[0]);
+        assertEquals(2, row.getValues()[1]);
+        assertEquals(0, response.rowId());
+
+        row = response.next();
+        assertEquals(3, row.getValues()[0]);
+        assertEquals(4, row.getValues()[1]);
+        assertEquals(1, response.rowId());
+
+        assertNull(response.next());
+        response.close();
+    }
+
+    @Test
+    public void shouldReadRowsOfEachResultInTurn() {
+        String json = "{\"results\":[" +
+                "{\"columns\":[\"id\"],\"data\":[{\"row\":[1]},{\"row\":[2]}]}," +
+                "{\"columns\":[\"n\"],\"data\":[]}," +
+                "{\"columns\":[\"_0\",\"_1\"],\"data\":[{\"row\":[3,4]}]}" +
+                "],\"errors\":[]}";
+
+        RowModelResponse response = new RowModelResponse(new JsonResponse(stream(json), mapper));
+
+        assertArrayEquals(new String[]{"id"}, response.columns());
+        assertEquals(1, response.next().getValues()[0]);
+        assertEquals(2, response.next().getValues()[0]);
+
+        RowModel row = response.next();
+        assertArrayEquals(new String[]{"_0", "_1"}, response.columns());
+        assertEquals(3, row.getValues()[0]);
+        assertEquals(4, row.getValues()[1]);
+        assertEquals(2, response.rowId());
+
+        assertNull(response.next());
+        response.close();
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldRaiseErrorsFollowingSeveralResults() {
+        String json = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1]}]},{\"columns\":[\"m\"],\"data\":[]}]," +
+                "\"errors\":[{\"code\":\"Neo.DatabaseError.Statement.ExecutionFailure\",\"message\":\"failed\"}]}";
+
+        RowModelResponse response = new RowModelResponse(new JsonResponse(stream(json), mapper));
+        assertNotNull(response.next());
+        response.next();
+    }
+
+    @Test
+    public void shouldReadGraphRecordsContainingTheScanToken() {
+        String json = "{\"results\":[{\"columns\":[\"p\"],\"data\":[" +
+                "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Label\"],\"properties\":{\"name\":\"{\\\"graph\"}}],\"relationships\":[]}}," +
+                "{\"graph\":{\"nodes\":[{\"id\":\"2\",\"labels\":[\"Label\"],\"properties\":{\"name\":\"{\\\"row\"}}],\"relationships\":[]}}" +
+                "]}],\"errors\":[]}";
+
+        GraphModelResponse response = new GraphModelResponse(new JsonResponse(stream(json), mapper));
+
+        GraphModel graphModel = response.next();
+        assertEquals(Long.valueOf(1), graphModel.getNodes()[0].getId());
+        assertEquals("{\"graph", graphModel.getNodes()[0].property("name"));
+
+        graphModel = response.next();
+        assertEquals(Long.valueOf(2), graphModel.getNodes()[0].getId());
+        assertEquals("{\"row", graphModel.getNodes()[0].property("name"));
+
+        assertNull(response.next());
+        response.close();
+    }
+
+    @Test
+    public void shouldReturnRecordsAsStrings() {
+        String json = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[\"a\"]}]}],\"errors\":[]}";
+
+        JsonResponse response = new JsonResponse(stream(json), mapper);
+        response.initialiseScan("row");
+
+        assertEquals("{\"row\":[\"a\"]}", response.next());
+        assertNull(response.next());
+        response.close();
+    }
+
+    @Test
+    public void shouldHandleEmptyResults() {
+        String json = "{\"results\":[{\"columns\":[\"n\"],\"data\":[]}],\"errors\":[]}";
+
+        RowModelResponse response = new RowModelResponse(new JsonResponse(stream(json), mapper));
+
+        assertArrayEquals(new String[]{"n"}, response.columns());
+        assertNull(response.next());
+        response.close();
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldRaiseErrorsInsteadOfResults() {
+        String json = "{\"results\":[],\"errors\":[{\"code\":\"Neo.ClientError.Statement.InvalidSyntax\",\"message\":\"Invalid input\"}]}";
+        new RowModelResponse(new JsonResponse(stream(json), mapper));
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldRaiseErrorsFollowingResults() {
+        String json = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1]}]}]," +
+                "\"errors\":[{\"code\":\"Neo.DatabaseError.Statement.ExecutionFailure\",\"message\":\"failed\"}]}";
+
+        RowModelResponse response = new RowModelResponse(new JsonResponse(stream(json), mapper));
+        assertNotNull(response.next());
+        response.next();
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014-2015 "GraphAware"
+ *
+ * GraphAware Ltd
+ *
+ * This file is part of Neo4j-OGM.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package org.neo4j.ogm.unit.session.response;
+
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.domain.education.Course;
+import org.neo4j.ogm.domain.education.Student;
+import org.neo4j.ogm.mapper.EntityGraphMapper;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.response.ListResponse;
+import org.neo4j.ogm.session.response.SessionResponseHandler;
+import org.neo4j.ogm.session.result.RowModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SessionResponseHandlerTest {
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.education");
+    private final MappingContext mappingContext = new MappingContext(metaData);
+
+    @Test
+    public void shouldSetTheIdsOfNodesCreatedInBulkByTheirVariablesRatherThanTheOrderOfTheRows() {
+
+        Student gary = new Student("Gary");
+        Student sheila = new Student("Sheila");
+        Course physics = new Course();
+        physics.setName("GCSE Physics");
+
+        CypherContext context = new EntityGraphMapper(metaData, mappingContext, true).map(Arrays.asList(gary, physics, sheila), -1);
+
+        // the database returns the rows in the reverse order of the statements and their rows
+        List<RowModel> rows = new ArrayList<>();
+        List<String[]> columns = new ArrayList<>();
+        long id = 10L;
+        for (ParameterisedStatement statement : context.getStatements()) {
+            for (Map<String, Object> row : (List<Map<String, Object>>) statement.getParameters().get("rows")) {
+                rows.add(new RowModel(new Object[] { row.get("ref"), id++ }));
+                columns.add(new String[] { "ref", "id" });
+            }
+        }
+        List<RowModel> expected = new ArrayList<>(rows);
+        Collections.reverse(rows);
+
+        new SessionResponseHandler(metaData, mappingContext).updateObjects(context, new ListResponse<>(new String[0], rows, columns));
+
+        for (RowModel row : expected) {
+            Object entity = context.getNewObject((String) row.getValues()[0]);
+            Long identity = (Long) row.getValues()[1];
+            assertSame(entity, mappingContext.get(identity));
+        }
+        assertEquals(Long.valueOf(12L), physics.getId());
+    }
+}
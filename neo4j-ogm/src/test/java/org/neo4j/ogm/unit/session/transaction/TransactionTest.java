@@ -24,9 +24,18 @@ import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.domain.education.Teacher;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.CacheInvalidator;
+import org.neo4j.ogm.session.DriverConfig;
+import org.neo4j.ogm.session.EntityCache;
+import org.neo4j.ogm.session.QueryCache;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.transaction.LongTransaction;
 import org.neo4j.ogm.session.transaction.SimpleTransaction;
 import org.neo4j.ogm.session.transaction.Transaction;
 import org.neo4j.ogm.session.transaction.TransactionException;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -118,4 +127,47 @@ public class TransactionTest {
 
     }
 
+    @Test public void assertLongTransactionIsOpenedByItsFirstRequest() {
+        // no http client: an unopened transaction must not make any requests
+        TransactionManager txManager = new TransactionManager(null, "http://localhost:7474");
+        Transaction longTx = txManager.openTransaction(mappingContext);
+        assertEquals("http://localhost:7474/db/data/transaction", longTx.url());
+
+        txManager.transactionOpened("http://localhost:7474/db/data/transaction/42");
+        assertEquals("http://localhost:7474/db/data/transaction/42", longTx.url());
+    }
+
+    @Test public void assertUnopenedLongTransactionCommitsWithoutRequest() {
+        TransactionManager txManager = new TransactionManager(null, "http://localhost:7474");
+        Transaction longTx = txManager.openTransaction(mappingContext);
+        longTx.append(new CypherContext());
+        longTx.commit();
+        assertEquals(Transaction.Status.COMMITTED, longTx.status());
+        assertNull(txManager.getCurrentTransaction());
+    }
+
+    @Test public void assertLongTransactionInvalidatesItsWritesAgainOnCommit() {
+        QueryCache queryCache = new QueryCache(60000, 10);
+        CacheInvalidator invalidator = new CacheInvalidator(new EntityCache(metaData, new DriverConfig()), queryCache);
+        TransactionManager txManager = new TransactionManager(null, "http://localhost:7474");
+        LongTransaction longTx = (LongTransaction) txManager.openTransaction(mappingContext, invalidator.recording());
+
+        longTx.invalidator().names(Collections.singletonList("Teacher"));
+        // another session reads what was committed before the transaction, and caches it
+        queryCache.put(Object.class, "MATCH (t:Teacher) RETURN t", Utils.map(), "before");
+        queryCache.put(Object.class, "MATCH (s:School) RETURN s", Utils.map(), "unchanged");
+
+        longTx.commit();
+        assertNull(queryCache.get(Object.class, "MATCH (t:Teacher) RETURN t", Utils.map()));
+        assertEquals("unchanged", queryCache.get(Object.class, "MATCH (s:School) RETURN s", Utils.map()));
+    }
+
+    @Test public void assertUnopenedLongTransactionRollsBackWithoutRequest() {
+        TransactionManager txManager = new TransactionManager(null, "http://localhost:7474");
+        Transaction longTx = txManager.openTransaction(mappingContext);
+        longTx.rollback();
+        assertEquals(Transaction.Status.ROLLEDBACK, longTx.status());
+        assertNull(txManager.getCurrentTransaction());
+    }
+
 }